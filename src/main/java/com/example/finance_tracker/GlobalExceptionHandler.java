@@ -1,7 +1,10 @@
 package com.example.finance_tracker;
 
+import com.example.finance_tracker.exceptions.ConflictException;
+import com.example.finance_tracker.exceptions.DeadlineExceededException;
 import com.example.finance_tracker.exceptions.ExportException;
 import com.example.finance_tracker.exceptions.ResourceNotFoundException;
+import com.example.finance_tracker.exceptions.TooManyRequestsException;
 import com.example.finance_tracker.exceptions.ValidationException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
@@ -56,6 +59,24 @@ public class GlobalExceptionHandler {
         return "Malformed JSON request";
     }
 
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleConflict(ConflictException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public String handleTooManyRequests(TooManyRequestsException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleDeadlineExceeded(DeadlineExceededException ex) {
+        return ex.getMessage();
+    }
+
     @ExceptionHandler(ExportException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public String handleExportException(ExportException ex) {
@@ -0,0 +1,30 @@
+package com.example.finance_tracker;
+
+import com.example.finance_tracker.repositories.UserRepository;
+import com.example.finance_tracker.services.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+        prefix = "app.rollup",
+        name = "rebuild-on-startup",
+        havingValue = "true"
+)
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final MonthlyRollupService monthlyRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // one transaction per user keeps locks short on large ledgers
+        for (Long userId : userRepository.findAllIds()) {
+            monthlyRollupService.rebuild(userId);
+        }
+    }
+}
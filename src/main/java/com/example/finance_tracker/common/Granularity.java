@@ -0,0 +1,83 @@
+package com.example.finance_tracker.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum Granularity {
+    DAY,
+    WEEK,
+    MONTH,
+    QUARTER,
+    YEAR;
+
+    // weeks start on Monday
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    // last day of the bucket containing the date
+    public LocalDate endOf(LocalDate date) {
+        return next(startOf(date)).minusDays(1);
+    }
+
+    // number of buckets that overlap [from, to], without listing them
+    public long bucketCount(LocalDate from, LocalDate to) {
+        LocalDate first = startOf(from);
+        LocalDate last = startOf(to);
+        return switch (this) {
+            case DAY -> ChronoUnit.DAYS.between(first, last);
+            case WEEK -> ChronoUnit.WEEKS.between(first, last);
+            case MONTH -> ChronoUnit.MONTHS.between(first, last);
+            case QUARTER -> ChronoUnit.MONTHS.between(first, last) / 3;
+            case YEAR -> ChronoUnit.YEARS.between(first, last);
+        } + 1;
+    }
+
+    // starts of every bucket that overlaps [from, to]
+    public List<LocalDate> bucketStarts(LocalDate from, LocalDate to) {
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = startOf(from); !start.isAfter(to); start = next(start)) {
+            starts.add(start);
+        }
+        return starts;
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+
+    @JsonCreator
+    public static Granularity from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(
+                    "Granularity must not be null or blank. Allowed values: DAY, WEEK, MONTH, QUARTER, YEAR"
+            );
+        }
+
+        try {
+            return Granularity.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                    "Invalid granularity: '" + value + "'. Allowed values: DAY, WEEK, MONTH, QUARTER, YEAR"
+            );
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.finance_tracker.common;
+
+public enum Role {
+    USER,
+    ADMIN
+}
@@ -0,0 +1,49 @@
+package com.example.finance_tracker.configs;
+
+import com.example.finance_tracker.security.CurrentUserProvider;
+import com.example.finance_tracker.services.LedgerVersionService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+// answers If-None-Match before the handler runs, so an unchanged ledger costs one primary key lookup
+@Component
+@RequiredArgsConstructor
+public class LedgerETagInterceptor implements HandlerInterceptor {
+
+    private final LedgerVersionService ledgerVersionService;
+    private final CurrentUserProvider currentUser;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Long userId = currentUser.getCurrentUserId();
+        // the dashboard defaults to the current month, so a tag issued last month must not validate after rollover
+        String etag = "W/\"" + userId + "-" + ledgerVersionService.getVersion(userId) + "-" + YearMonth.now() + "-"
+                + representation(request).getSubtype() + "\"";
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    // JSON and NDJSON listings share paths, so the mapping chosen by the Accept header is part of the tag
+    private MediaType representation(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Set<MediaType> producible = (Set<MediaType>) request.getAttribute(
+                HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        return CollectionUtils.isEmpty(producible) ? MediaType.APPLICATION_JSON : producible.iterator().next();
+    }
+}
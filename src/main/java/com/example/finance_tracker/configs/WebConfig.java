@@ -0,0 +1,21 @@
+package com.example.finance_tracker.configs;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LedgerETagInterceptor ledgerETagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(ledgerETagInterceptor)
+                .addPathPatterns("/api/v1/transactions", "/api/v1/transactions/**", "/api/v1/reports/**",
+                        "/api/v1/dashboard")
+                .excludePathPatterns("/api/v1/reports/rollups/**");
+    }
+}
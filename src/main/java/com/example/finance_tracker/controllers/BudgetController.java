@@ -0,0 +1,70 @@
+package com.example.finance_tracker.controllers;
+
+import com.example.finance_tracker.dtos.BudgetRequest;
+import com.example.finance_tracker.dtos.BudgetResponse;
+import com.example.finance_tracker.dtos.BudgetStatusResponse;
+import com.example.finance_tracker.mappers.BudgetMapper;
+import com.example.finance_tracker.models.Budget;
+import com.example.finance_tracker.security.CurrentUserProvider;
+import com.example.finance_tracker.services.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/budgets")
+@RequiredArgsConstructor
+public class BudgetController {
+    private final BudgetService budgetService;
+    private final BudgetMapper budgetMapper;
+    private final CurrentUserProvider currentUser;
+
+    // a category has at most one budget, so setting it again replaces the limit
+    @PutMapping("/{categoryId}")
+    public ResponseEntity<BudgetResponse> set(@PathVariable Long categoryId,
+                                              @Valid @RequestBody BudgetRequest budgetRequest) {
+        Long userId = currentUser.getCurrentUserId();
+
+        Budget budget = budgetMapper.toModel(budgetRequest);
+        budget.setCategoryId(categoryId);
+        budget.setUserId(userId);
+        Budget savedBudget = budgetService.set(budget);
+
+        return ResponseEntity.ok().body(budgetMapper.toResponse(savedBudget));
+    }
+
+    @DeleteMapping("/{categoryId}")
+    public ResponseEntity<Void> delete(@PathVariable Long categoryId) {
+        Long userId = currentUser.getCurrentUserId();
+        budgetService.delete(categoryId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping
+    public List<BudgetResponse> get() {
+        Long userId = currentUser.getCurrentUserId();
+        return budgetService.getByUser(userId).stream().map(budgetMapper::toResponse).toList();
+    }
+
+    @GetMapping("/status")
+    public List<BudgetStatusResponse> getStatus(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        Long userId = currentUser.getCurrentUserId();
+        return budgetService.getStatus(userId, month != null ? month : YearMonth.now()).stream()
+                .map(budgetMapper::toResponse).toList();
+    }
+
+    @GetMapping("/{categoryId}/status")
+    public BudgetStatusResponse getStatus(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        Long userId = currentUser.getCurrentUserId();
+        return budgetMapper.toResponse(
+                budgetService.getStatus(userId, categoryId, month != null ? month : YearMonth.now()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.finance_tracker.controllers;
+
+import com.example.finance_tracker.dtos.CategorySummaryResponse;
+import com.example.finance_tracker.dtos.DashboardResponse;
+import com.example.finance_tracker.dtos.MonthlySummaryResponse;
+import com.example.finance_tracker.dtos.TrendPointResponse;
+import com.example.finance_tracker.mappers.TransactionMapper;
+import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.Dashboard;
+import com.example.finance_tracker.models.MonthlySummary;
+import com.example.finance_tracker.models.TrendPoint;
+import com.example.finance_tracker.security.CurrentUserProvider;
+import com.example.finance_tracker.services.dashboard.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+    private final TransactionMapper transactionMapper;
+    private final CurrentUserProvider currentUser;
+
+    @GetMapping
+    public DashboardResponse getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "6") int trendMonths,
+            @RequestParam(defaultValue = "10") int recent
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        Dashboard dashboard = dashboardService.getDashboard(
+                userId, month != null ? month : YearMonth.now(), trendMonths, recent);
+
+        return new DashboardResponse(
+                toResponse(dashboard.summary()),
+                dashboard.incomeByCategory().stream().map(this::toResponse).toList(),
+                dashboard.expenseByCategory().stream().map(this::toResponse).toList(),
+                dashboard.trend().stream().map(this::toResponse).toList(),
+                dashboard.recentTransactions().stream()
+                        .map(view -> transactionMapper.toResponse(view, userId))
+                        .toList());
+    }
+
+    private MonthlySummaryResponse toResponse(MonthlySummary summary) {
+        return new MonthlySummaryResponse(summary.month(), summary.income(), summary.expense(), summary.balance(),
+                summary.transactionCount());
+    }
+
+    private CategorySummaryResponse toResponse(CategorySummary summary) {
+        return new CategorySummaryResponse(summary.categoryId(), summary.categoryName(), summary.total());
+    }
+
+    private TrendPointResponse toResponse(TrendPoint point) {
+        return new TrendPointResponse(point.start(), point.income(), point.expense(), point.net(),
+                point.transactionCount());
+    }
+}
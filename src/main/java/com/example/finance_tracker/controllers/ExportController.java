@@ -1,18 +1,33 @@
 package com.example.finance_tracker.controllers;
 
+import com.example.finance_tracker.dtos.ExportJobResponse;
 import com.example.finance_tracker.security.CurrentUserProvider;
+import com.example.finance_tracker.services.export.ExportCompression;
 import com.example.finance_tracker.services.export.ExportFile;
 import com.example.finance_tracker.services.export.ExportFormat;
+import com.example.finance_tracker.services.export.ExportJob;
+import com.example.finance_tracker.services.export.ExportJobService;
 import com.example.finance_tracker.services.export.ExportService;
+import com.example.finance_tracker.services.export.SpooledFile;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/export")
@@ -20,30 +35,104 @@ import java.time.LocalDate;
 public class ExportController {
 
     private final ExportService exportService;
+    private final ExportJobService exportJobService;
     private final CurrentUserProvider currentUser;
 
+    // an explicit compression asks for a compressed file, otherwise the response is compressed in transit when the
+    // client accepts it
     @GetMapping
-    public ResponseEntity<byte[]> export(
+    public ResponseEntity<StreamingResponseBody> export(
             @RequestParam ExportFormat format,
+            @RequestParam(required = false) ExportCompression compression,
             @RequestParam(required = false) LocalDate startDate,
-            @RequestParam(required = false) LocalDate endDate
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         Long userId = currentUser.getCurrentUserId();
 
+        if (compression != null) {
+            ExportFile file = exportService.export(userId, format, compression, startDate, endDate);
+
+            return ResponseEntity.ok()
+                    .contentType(file.artifactContentType())
+                    .header(
+                            HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=" + file.artifactFilename()
+                    )
+                    .body(file.content()::writeTo);
+        }
+
         ExportFile file = exportService.export(
                 userId,
                 format,
+                exportService.negotiate(format, acceptEncoding),
                 startDate,
                 endDate
         );
 
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(file.contentType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + file.filename()
+                );
+        if (file.compression() != ExportCompression.NONE) {
+            response.header(HttpHeaders.CONTENT_ENCODING, file.compression().getEncoding());
+        }
+        return response.body(file.content()::writeTo);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobResponse> submitJob(
+            @RequestParam ExportFormat format,
+            @RequestParam(defaultValue = "NONE") ExportCompression compression,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        ExportJob job = exportJobService.submit(userId, format, compression, startDate, endDate);
+
+        URI location = URI.create(String.format("/api/v1/export/jobs/%s", job.id()));
+        return ResponseEntity.accepted().location(location).body(toResponse(job));
+    }
+
+    @GetMapping("/jobs")
+    public List<ExportJobResponse> getJobs() {
+        Long userId = currentUser.getCurrentUserId();
+        return exportJobService.getByUser(userId).stream().map(this::toResponse).toList();
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ExportJobResponse getJob(@PathVariable UUID id) {
+        Long userId = currentUser.getCurrentUserId();
+        return toResponse(exportJobService.get(userId, id));
+    }
+
+    // Spring answers Range requests for Resource bodies with 206 and the requested byte ranges
+    @GetMapping("/jobs/{id}/file")
+    public ResponseEntity<Resource> downloadJob(@PathVariable UUID id) {
+        Long userId = currentUser.getCurrentUserId();
+        SpooledFile file = exportJobService.getFile(userId, id);
+
         return ResponseEntity.ok()
                 .contentType(file.contentType())
                 .header(
                         HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=" + file.filename()
                 )
-                .body(file.content());
+                .body(new FileSystemResource(file.path()));
     }
-}
 
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable UUID id) {
+        Long userId = currentUser.getCurrentUserId();
+        exportJobService.delete(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        return new ExportJobResponse(job.id(), job.format(), job.compression(), job.startDate(), job.endDate(),
+                job.status(), job.createdAt(), job.completedAt(), job.size(), job.error());
+    }
+}
@@ -1,25 +1,48 @@
 package com.example.finance_tracker.controllers;
 
+import com.example.finance_tracker.common.Granularity;
 import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.dtos.AmountDistributionResponse;
+import com.example.finance_tracker.dtos.BalancePointResponse;
 import com.example.finance_tracker.dtos.CategorySummaryResponse;
+import com.example.finance_tracker.dtos.HistogramBinResponse;
 import com.example.finance_tracker.dtos.MonthlySummaryResponse;
 import com.example.finance_tracker.dtos.MonthlyTrendResponse;
 import com.example.finance_tracker.dtos.PeriodSummaryResponse;
+import com.example.finance_tracker.dtos.RollupDriftResponse;
+import com.example.finance_tracker.dtos.SummaryBatchResponse;
+import com.example.finance_tracker.dtos.TopItemResponse;
+import com.example.finance_tracker.dtos.TopReportResponse;
+import com.example.finance_tracker.dtos.TrendPointResponse;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.AmountDistribution;
 import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.DateRange;
 import com.example.finance_tracker.models.MonthlySummary;
 import com.example.finance_tracker.models.MonthlyTrend;
 import com.example.finance_tracker.models.PeriodSummary;
+import com.example.finance_tracker.models.RollupDrift;
+import com.example.finance_tracker.models.SummaryBatch;
+import com.example.finance_tracker.models.TopItem;
+import com.example.finance_tracker.models.TopReport;
+import com.example.finance_tracker.models.TrendPoint;
 import com.example.finance_tracker.security.CurrentUserProvider;
+import com.example.finance_tracker.services.AmountSketchService;
+import com.example.finance_tracker.services.MonthlyRollupService;
+import com.example.finance_tracker.services.ledger.BalanceSeriesService;
 import com.example.finance_tracker.services.ReportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -27,6 +50,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReportController {
     private final ReportService reportService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final AmountSketchService amountSketchService;
+    private final BalanceSeriesService balanceSeriesService;
     private final CurrentUserProvider currentUser;
 
     @GetMapping("/monthly-summary")
@@ -34,11 +60,7 @@ public class ReportController {
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
         Long userId = currentUser.getCurrentUserId();
         MonthlySummary monthlySummary = reportService.getMonthlySummary(userId, month);
-        return new MonthlySummaryResponse(
-                monthlySummary.month(),
-                monthlySummary.income(),
-                monthlySummary.expense(),
-                monthlySummary.balance());
+        return toResponse(monthlySummary);
     }
 
     @GetMapping("/monthly-category-summary")
@@ -59,8 +81,30 @@ public class ReportController {
     ) {
         Long userId = currentUser.getCurrentUserId();
         PeriodSummary periodSummary = reportService.getSummaryForPeriod(userId, startDate, endDate);
-        return new PeriodSummaryResponse(periodSummary.from(), periodSummary.to(),
-                periodSummary.income(), periodSummary.expense(), periodSummary.balance());
+        return toResponse(periodSummary);
+    }
+
+    @GetMapping("/summary-batch")
+    public SummaryBatchResponse getSummaryBatch(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") List<YearMonth> month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> endDate
+    ) {
+        List<LocalDate> starts = startDate == null ? List.of() : startDate;
+        List<LocalDate> ends = endDate == null ? List.of() : endDate;
+        if (starts.size() != ends.size()) {
+            throw new ValidationException("Every startDate needs a matching endDate");
+        }
+        List<DateRange> periods = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            periods.add(new DateRange(starts.get(i), ends.get(i)));
+        }
+
+        Long userId = currentUser.getCurrentUserId();
+        SummaryBatch batch = reportService.getSummaryBatch(userId, month == null ? List.of() : month, periods);
+        return new SummaryBatchResponse(
+                batch.months().stream().map(this::toResponse).toList(),
+                batch.periods().stream().map(this::toResponse).toList());
     }
 
     @GetMapping("/monthly-trend")
@@ -75,6 +119,100 @@ public class ReportController {
                 .stream().map(this::toResponse).toList();
     }
 
+    @GetMapping("/trend")
+    public List<TrendPointResponse> getTrend(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String granularity
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        Granularity parsedGranularity = Granularity.from(granularity);
+        return reportService.getTrend(userId, from, to, parsedGranularity)
+                .stream().map(this::toResponse).toList();
+    }
+
+    @GetMapping("/top-categories")
+    public TopReportResponse getTopCategories(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam String type,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        Type parsedType = Type.from(type);
+        return toResponse(reportService.getTopCategories(userId, startDate, endDate, parsedType, limit));
+    }
+
+    @GetMapping("/top-descriptions")
+    public TopReportResponse getTopDescriptions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam String type,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        Type parsedType = Type.from(type);
+        return toResponse(reportService.getTopDescriptions(userId, startDate, endDate, parsedType, limit));
+    }
+
+    @GetMapping("/amount-distribution")
+    public AmountDistributionResponse getAmountDistribution(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam String type,
+            @RequestParam(required = false) Long categoryId
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        Type parsedType = Type.from(type);
+        AmountDistribution distribution = amountSketchService.getDistribution(userId, from, to, parsedType, categoryId);
+        return new AmountDistributionResponse(distribution.from(), distribution.to(),
+                distribution.transactionCount(), distribution.median(), distribution.p90(), distribution.p99(),
+                distribution.histogram().stream()
+                        .map(bin -> new HistogramBinResponse(bin.from(), bin.to(), bin.count()))
+                        .toList());
+    }
+
+    @GetMapping("/balance-series")
+    public List<BalancePointResponse> getBalanceSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity
+    ) {
+        Long userId = currentUser.getCurrentUserId();
+        Granularity parsedGranularity = Granularity.from(granularity);
+        return balanceSeriesService.getBalanceSeries(userId, from, to, parsedGranularity)
+                .stream().map(point -> new BalancePointResponse(point.date(), point.balance())).toList();
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Void> rebuildRollups() {
+        Long userId = currentUser.getCurrentUserId();
+        monthlyRollupService.rebuild(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/rollups/verify")
+    public List<RollupDriftResponse> verifyRollups() {
+        Long userId = currentUser.getCurrentUserId();
+        return monthlyRollupService.verify(userId)
+                .stream().map(this::toResponse).toList();
+    }
+
+    private MonthlySummaryResponse toResponse(MonthlySummary monthlySummary) {
+        return new MonthlySummaryResponse(
+                monthlySummary.month(),
+                monthlySummary.income(),
+                monthlySummary.expense(),
+                monthlySummary.balance(),
+                monthlySummary.transactionCount());
+    }
+
+    private PeriodSummaryResponse toResponse(PeriodSummary periodSummary) {
+        return new PeriodSummaryResponse(periodSummary.from(), periodSummary.to(),
+                periodSummary.income(), periodSummary.expense(), periodSummary.balance(),
+                periodSummary.transactionCount());
+    }
+
     private CategorySummaryResponse toResponse(CategorySummary categorySummary) {
         return new CategorySummaryResponse(
                 categorySummary.categoryId(),
@@ -86,6 +224,26 @@ public class ReportController {
     private MonthlyTrendResponse toResponse(MonthlyTrend monthlyTrend) {
         return new MonthlyTrendResponse(monthlyTrend.month(), monthlyTrend.total());
     }
+
+    private TrendPointResponse toResponse(TrendPoint point) {
+        return new TrendPointResponse(point.start(), point.income(), point.expense(), point.net(),
+                point.transactionCount());
+    }
+
+    private TopReportResponse toResponse(TopReport report) {
+        return new TopReportResponse(report.total(),
+                report.items().stream().map(this::toResponse).toList(),
+                toResponse(report.other()));
+    }
+
+    private TopItemResponse toResponse(TopItem item) {
+        return new TopItemResponse(item.categoryId(), item.name(), item.total(), item.percentage());
+    }
+
+    private RollupDriftResponse toResponse(RollupDrift drift) {
+        return new RollupDriftResponse(drift.month(), drift.type(), drift.categoryId(),
+                drift.expectedTotal(), drift.actualTotal(), drift.expectedCount(), drift.actualCount());
+    }
 }
 
 
@@ -1,29 +1,63 @@
 package com.example.finance_tracker.controllers;
 
 import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.dtos.BulkDeleteRequest;
+import com.example.finance_tracker.dtos.BulkDeleteResponse;
+import com.example.finance_tracker.dtos.ImportErrorResponse;
+import com.example.finance_tracker.dtos.ImportProgressResponse;
 import com.example.finance_tracker.dtos.TransactionRequest;
 import com.example.finance_tracker.dtos.TransactionResponse;
+import com.example.finance_tracker.exceptions.ValidationException;
 import com.example.finance_tracker.mappers.TransactionMapper;
 import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TransactionPage;
+import com.example.finance_tracker.models.TransactionSearchCriteria;
+import com.example.finance_tracker.models.TransactionView;
 import com.example.finance_tracker.security.CurrentUserProvider;
 import com.example.finance_tracker.services.TransactionService;
+import com.example.finance_tracker.services.imports.ImportError;
+import com.example.finance_tracker.services.imports.ImportListener;
+import com.example.finance_tracker.services.imports.ImportOptions;
+import com.example.finance_tracker.services.imports.ImportProgress;
+import com.example.finance_tracker.services.imports.TransactionImportService;
+import com.example.finance_tracker.services.search.DescriptionSearchService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
 @RequiredArgsConstructor
 public class TransactionController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final DescriptionSearchService descriptionSearchService;
     private final TransactionMapper transactionMapper;
     private final CurrentUserProvider currentUser;
+    private final JsonMapper jsonMapper;
 
     @PostMapping
     public ResponseEntity<TransactionResponse> create(@Valid @RequestBody TransactionRequest transactionRequest) {
@@ -39,6 +73,36 @@ public class TransactionController {
         return ResponseEntity.created(location).body(transactionResponse);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TransactionResponse>> createAll(
+            @RequestBody List<@Valid TransactionRequest> transactionRequests) {
+        Long userId = currentUser.getCurrentUserId();
+
+        List<Transaction> transactions = transactionRequests.stream().map(transactionMapper::toModel).toList();
+        List<Transaction> createdTransactions = transactionService.createAll(userId, transactions);
+
+        List<TransactionResponse> body = createdTransactions.stream().map(transactionMapper::toResponse).toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importCsv(
+            InputStream csv,
+            HttpServletResponse response,
+            @RequestParam(required = false) Long defaultCategoryId,
+            @RequestParam(required = false) String dateFormat) throws IOException {
+        Long userId = currentUser.getCurrentUserId();
+        DateTimeFormatter formatter = dateFormat == null
+                ? DateTimeFormatter.ISO_LOCAL_DATE
+                : parseDateFormat(dateFormat);
+
+        NdjsonImportListener listener = new NdjsonImportListener(response);
+        ImportProgress result = transactionImportService.importCsv(
+                userId, csv, new ImportOptions(defaultCategoryId, formatter), listener);
+        listener.write(new ImportProgressResponse("completed", result.linesRead(), result.imported(), result.failed()));
+        listener.out().flush();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponse> update(@PathVariable Long id, @Valid @RequestBody TransactionRequest transactionRequest) {
         Long userId = currentUser.getCurrentUserId();
@@ -59,34 +123,198 @@ public class TransactionController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkDeleteResponse> deleteAll(@RequestBody BulkDeleteRequest request) {
+        Long userId = currentUser.getCurrentUserId();
+
+        boolean byIds = request.ids() != null;
+        boolean byDates = request.startDate() != null || request.endDate() != null;
+        boolean byCategory = request.categoryId() != null;
+        if ((byIds ? 1 : 0) + (byDates ? 1 : 0) + (byCategory ? 1 : 0) != 1) {
+            throw new ValidationException("Specify exactly one of: ids, startDate and endDate, categoryId");
+        }
+
+        int deleted;
+        if (byIds) {
+            deleted = transactionService.deleteByIds(userId, request.ids());
+        } else if (byDates) {
+            deleted = transactionService.deleteByDateRange(userId, request.startDate(), request.endDate());
+        } else {
+            deleted = transactionService.deleteByCategory(userId, request.categoryId());
+        }
+        return ResponseEntity.ok(new BulkDeleteResponse(deleted));
+    }
+
     @GetMapping
-    public List<TransactionResponse> get() {
+    public ResponseEntity<List<TransactionResponse>> get(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         Long userId = currentUser.getCurrentUserId();
-        return transactionService.getByUser(userId)
-                .stream().map(transactionMapper::toResponse).toList();
+        return toResponse(userId, transactionService.getByUser(userId, cursor, limit));
     }
 
     @GetMapping("/type/{type}")
-    public List<TransactionResponse> getByType(@PathVariable String type) {
+    public ResponseEntity<List<TransactionResponse>> getByType(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         Long userId = currentUser.getCurrentUserId();
         Type parsedType = Type.from(type);
-        return transactionService.getByType(userId, parsedType)
-                .stream().map(transactionMapper::toResponse).toList();
+        return toResponse(userId, transactionService.getByType(userId, parsedType, cursor, limit));
     }
 
     @GetMapping("/category/{categoryId}")
-    public List<TransactionResponse> getByCategory(@PathVariable Long categoryId) {
+    public ResponseEntity<List<TransactionResponse>> getByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         Long userId = currentUser.getCurrentUserId();
-        return transactionService.getByCategory(userId, categoryId)
-                .stream().map(transactionMapper::toResponse).toList();
+        return toResponse(userId, transactionService.getByCategory(userId, categoryId, cursor, limit));
     }
 
     @GetMapping("/dates")
-    public List<TransactionResponse> getByDateRange(
+    public ResponseEntity<List<TransactionResponse>> getByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        Long userId = currentUser.getCurrentUserId();
+        return toResponse(userId, transactionService.getByDateRange(userId, startDate, endDate, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionResponse>> search(
+            @RequestParam(required = false) String type,
+            @RequestParam(name = "categoryId", required = false) Set<Long> categoryIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(name = "q", required = false) String text,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "true") boolean count) {
+        Long userId = currentUser.getCurrentUserId();
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                type == null ? null : Type.from(type), categoryIds, startDate, endDate, minAmount, maxAmount, text);
+        return toResponse(userId, transactionService.search(userId, criteria, cursor, limit, count));
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<List<TransactionResponse>> searchText(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        Long userId = currentUser.getCurrentUserId();
+        List<TransactionResponse> body = descriptionSearchService.search(userId, query, limit).stream()
+                .map(view -> transactionMapper.toResponse(view, userId))
+                .toList();
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        Long userId = currentUser.getCurrentUserId();
+        return ndjson(userId, out -> transactionService.streamByUser(userId, out));
+    }
+
+    @GetMapping(value = "/type/{type}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByType(@PathVariable String type) {
+        Long userId = currentUser.getCurrentUserId();
+        Type parsedType = Type.from(type);
+        return ndjson(userId, out -> transactionService.streamByType(userId, parsedType, out));
+    }
+
+    @GetMapping(value = "/category/{categoryId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByCategory(@PathVariable Long categoryId) {
+        Long userId = currentUser.getCurrentUserId();
+        return ndjson(userId, out -> transactionService.streamByCategory(userId, categoryId, out));
+    }
+
+    @GetMapping(value = "/dates", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         Long userId = currentUser.getCurrentUserId();
-        return transactionService.getByDateRange(userId, startDate, endDate)
-                .stream().map(transactionMapper::toResponse).toList();
+        return ndjson(userId, out -> transactionService.streamByDateRange(userId, startDate, endDate, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Long userId, Consumer<Consumer<TransactionView>> source) {
+        StreamingResponseBody body = out ->
+                source.accept(view -> writeLine(out, transactionMapper.toResponse(view, userId)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private DateTimeFormatter parseDateFormat(String dateFormat) {
+        try {
+            return DateTimeFormatter.ofPattern(dateFormat);
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Date format '" + dateFormat + "' is not a valid pattern");
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(jsonMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private ResponseEntity<List<TransactionResponse>> toResponse(Long userId, TransactionPage page) {
+        List<TransactionResponse> body = page.items().stream()
+                .map(view -> transactionMapper.toResponse(view, userId))
+                .toList();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        if (page.totalCount() != null) {
+            response.header(TOTAL_COUNT_HEADER, page.totalCount().toString());
+        }
+        return response.body(body);
+    }
+
+    // the response is opened on the first event so header problems can still be answered with a plain 400
+    private class NdjsonImportListener implements ImportListener {
+        private final HttpServletResponse response;
+        private OutputStream out;
+
+        NdjsonImportListener(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onError(ImportError error) {
+            write(new ImportErrorResponse("error", error.line(), error.message()));
+        }
+
+        @Override
+        public void onProgress(ImportProgress progress) {
+            write(new ImportProgressResponse("progress", progress.linesRead(), progress.imported(), progress.failed()));
+            try {
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void write(Object event) {
+            writeLine(out(), event);
+        }
+
+        OutputStream out() {
+            if (out == null) {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                try {
+                    out = response.getOutputStream();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return out;
+        }
     }
 }
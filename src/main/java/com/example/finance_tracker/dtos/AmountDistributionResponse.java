@@ -0,0 +1,16 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+public record AmountDistributionResponse(
+        YearMonth from,
+        YearMonth to,
+        long transactionCount,
+        BigDecimal median,
+        BigDecimal p90,
+        BigDecimal p99,
+        List<HistogramBinResponse> histogram
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BalancePointResponse(
+        LocalDate date,
+        BigDecimal balance
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.finance_tracker.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record BudgetRequest(
+        @NotNull(message = "Monthly limit is mandatory")
+        @Positive(message = "Monthly limit must be positive")
+        BigDecimal monthlyLimit
+) {
+}
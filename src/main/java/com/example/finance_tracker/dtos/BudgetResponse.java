@@ -0,0 +1,10 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+
+public record BudgetResponse(
+        Long categoryId,
+        BigDecimal monthlyLimit,
+        Long userId
+) {
+}
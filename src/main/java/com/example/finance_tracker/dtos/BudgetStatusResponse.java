@@ -0,0 +1,15 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public record BudgetStatusResponse(
+        Long categoryId,
+        String categoryName,
+        YearMonth month,
+        BigDecimal monthlyLimit,
+        BigDecimal spent,
+        BigDecimal remaining,
+        boolean overBudget
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.finance_tracker.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BulkDeleteRequest(
+        List<Long> ids,
+        LocalDate startDate,
+        LocalDate endDate,
+        Long categoryId
+) {
+}
@@ -0,0 +1,6 @@
+package com.example.finance_tracker.dtos;
+
+public record BulkDeleteResponse(
+        int deleted
+) {
+}
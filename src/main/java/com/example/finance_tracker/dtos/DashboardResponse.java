@@ -0,0 +1,12 @@
+package com.example.finance_tracker.dtos;
+
+import java.util.List;
+
+public record DashboardResponse(
+        MonthlySummaryResponse summary,
+        List<CategorySummaryResponse> incomeByCategory,
+        List<CategorySummaryResponse> expenseByCategory,
+        List<TrendPointResponse> trend,
+        List<TransactionResponse> recentTransactions
+) {
+}
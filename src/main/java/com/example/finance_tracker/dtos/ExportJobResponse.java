@@ -0,0 +1,23 @@
+package com.example.finance_tracker.dtos;
+
+import com.example.finance_tracker.services.export.ExportCompression;
+import com.example.finance_tracker.services.export.ExportFormat;
+import com.example.finance_tracker.services.export.ExportJobStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ExportJobResponse(
+        UUID id,
+        ExportFormat format,
+        ExportCompression compression,
+        LocalDate startDate,
+        LocalDate endDate,
+        ExportJobStatus status,
+        Instant createdAt,
+        Instant completedAt,
+        Long size,
+        String error
+) {
+}
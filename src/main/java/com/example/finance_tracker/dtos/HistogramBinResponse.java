@@ -0,0 +1,10 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+
+public record HistogramBinResponse(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {
+}
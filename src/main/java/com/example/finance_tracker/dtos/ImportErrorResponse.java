@@ -0,0 +1,8 @@
+package com.example.finance_tracker.dtos;
+
+public record ImportErrorResponse(
+        String event,
+        long line,
+        String message
+) {
+}
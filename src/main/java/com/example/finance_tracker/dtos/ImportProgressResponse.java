@@ -0,0 +1,9 @@
+package com.example.finance_tracker.dtos;
+
+public record ImportProgressResponse(
+        String event,
+        long linesRead,
+        long imported,
+        long failed
+) {
+}
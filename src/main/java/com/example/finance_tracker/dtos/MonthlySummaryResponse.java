@@ -7,6 +7,7 @@ public record MonthlySummaryResponse(
         YearMonth month,
         BigDecimal income,
         BigDecimal expense,
-        BigDecimal balance
+        BigDecimal balance,
+        long transactionCount
 ) {
 }
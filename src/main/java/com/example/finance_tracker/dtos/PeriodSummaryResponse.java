@@ -8,6 +8,7 @@ public record PeriodSummaryResponse(
         LocalDate to,
         BigDecimal income,
         BigDecimal expense,
-        BigDecimal balance
+        BigDecimal balance,
+        long transactionCount
 ) {
 }
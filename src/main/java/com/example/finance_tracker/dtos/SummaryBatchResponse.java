@@ -0,0 +1,9 @@
+package com.example.finance_tracker.dtos;
+
+import java.util.List;
+
+public record SummaryBatchResponse(
+        List<MonthlySummaryResponse> months,
+        List<PeriodSummaryResponse> periods
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+
+public record TopItemResponse(
+        Long categoryId,
+        String name,
+        BigDecimal total,
+        BigDecimal percentage
+) {
+}
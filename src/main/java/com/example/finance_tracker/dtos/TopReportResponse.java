@@ -0,0 +1,11 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TopReportResponse(
+        BigDecimal total,
+        List<TopItemResponse> items,
+        TopItemResponse other
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.finance_tracker.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TrendPointResponse(
+        LocalDate start,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net,
+        long transactionCount
+) {
+}
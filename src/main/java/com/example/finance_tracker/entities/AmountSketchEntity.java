@@ -0,0 +1,24 @@
+package com.example.finance_tracker.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "amount_sketches")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AmountSketchEntity {
+    @EmbeddedId
+    private AmountSketchId id;
+
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+}
@@ -0,0 +1,38 @@
+package com.example.finance_tracker.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "budgets")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BudgetEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false, unique = true,
+            foreignKey = @ForeignKey(name = "fk_budget_category"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CategoryEntity categoryEntity;
+
+    @Positive
+    @Column(name = "monthly_limit", precision = 18, scale = 2, nullable = false)
+    private BigDecimal monthlyLimit;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity userEntity;
+}
@@ -0,0 +1,29 @@
+package com.example.finance_tracker.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "monthly_rollups")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthlyRollupEntity {
+    @EmbeddedId
+    private MonthlyRollupId id;
+
+    @Column(precision = 20, scale = 2, nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+}
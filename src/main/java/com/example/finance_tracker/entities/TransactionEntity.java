@@ -23,7 +23,9 @@ import java.time.LocalDate;
 @NoArgsConstructor
 public class TransactionEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_ids")
+    @TableGenerator(name = "transaction_ids", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "transactions", allocationSize = 100)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -1,5 +1,6 @@
 package com.example.finance_tracker.entities;
 
+import com.example.finance_tracker.common.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -35,6 +36,11 @@ public class UserEntity {
     @Size(min = 8)
     private String password;
 
+    // granted by an operator in the database; registration always creates plain users
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role = Role.USER;
+
     @OneToMany(mappedBy = "userEntity", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CategoryEntity> categoryEntities = new ArrayList<>();
 
@@ -0,0 +1,9 @@
+package com.example.finance_tracker.events;
+
+/**
+ * Published inside the writing transaction when a category of a user is created or updated.
+ */
+public record CategoriesChangedEvent(
+        Long userId
+) {
+}
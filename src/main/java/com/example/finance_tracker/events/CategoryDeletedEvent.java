@@ -0,0 +1,11 @@
+package com.example.finance_tracker.events;
+
+/**
+ * Published inside the writing transaction when a category is removed. Its transactions are kept by the database
+ * with their category cleared, without going through TransactionService.
+ */
+public record CategoryDeletedEvent(
+        Long userId,
+        Long categoryId
+) {
+}
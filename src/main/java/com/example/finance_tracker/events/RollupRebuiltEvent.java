@@ -0,0 +1,9 @@
+package com.example.finance_tracker.events;
+
+/**
+ * Published inside the rebuilding transaction after the monthly rollup of a user was recomputed from scratch.
+ */
+public record RollupRebuiltEvent(
+        Long userId
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.finance_tracker.events;
+
+import com.example.finance_tracker.models.Transaction;
+
+import java.util.List;
+
+/**
+ * Published inside the writing transaction whenever transactions of a user are created or updated.
+ * An update appears as its previous state in {@code removed} and its new state in {@code added}.
+ */
+public record TransactionsChangedEvent(
+        Long userId,
+        List<Transaction> removed,
+        List<Transaction> added
+) {
+    public static TransactionsChangedEvent created(Long userId, List<Transaction> transactions) {
+        return new TransactionsChangedEvent(userId, List.of(), transactions);
+    }
+
+    public static TransactionsChangedEvent updated(Long userId, Transaction before, Transaction after) {
+        return new TransactionsChangedEvent(userId, List.of(before), List.of(after));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.finance_tracker.events;
+
+import com.example.finance_tracker.models.DateRange;
+import com.example.finance_tracker.models.MonthlyTotal;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published inside the writing transaction when transactions were removed with a set-based statement.
+ * {@code totals} describe the removed rows per month, type and category. Exactly one of {@code ids}, {@code range}
+ * and {@code categoryId} says which rows were removed; {@code ids} may also contain ids that matched no row of the
+ * user.
+ */
+public record TransactionsDeletedEvent(
+        Long userId,
+        Collection<Long> ids,
+        DateRange range,
+        Long categoryId,
+        List<MonthlyTotal> totals
+) {
+    public static TransactionsDeletedEvent byIds(Long userId, Collection<Long> ids, List<MonthlyTotal> totals) {
+        return new TransactionsDeletedEvent(userId, ids, null, null, totals);
+    }
+
+    public static TransactionsDeletedEvent byDateRange(Long userId, LocalDate from, LocalDate to,
+                                                       List<MonthlyTotal> totals) {
+        return new TransactionsDeletedEvent(userId, null, new DateRange(from, to), null, totals);
+    }
+
+    public static TransactionsDeletedEvent byCategory(Long userId, Long categoryId, List<MonthlyTotal> totals) {
+        return new TransactionsDeletedEvent(userId, null, null, categoryId, totals);
+    }
+
+    // for deletes by range or category, whether a row dated and categorized like this was removed
+    public boolean matches(LocalDate date, Long rowCategoryId) {
+        if (range != null) {
+            return !date.isBefore(range.from()) && !date.isAfter(range.to());
+        }
+        return categoryId != null && categoryId.equals(rowCategoryId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.finance_tracker.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
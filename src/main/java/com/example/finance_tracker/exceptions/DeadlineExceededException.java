@@ -0,0 +1,8 @@
+package com.example.finance_tracker.exceptions;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
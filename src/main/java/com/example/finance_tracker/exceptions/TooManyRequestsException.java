@@ -0,0 +1,8 @@
+package com.example.finance_tracker.exceptions;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
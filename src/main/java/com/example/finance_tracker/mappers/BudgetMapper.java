@@ -0,0 +1,26 @@
+package com.example.finance_tracker.mappers;
+
+import com.example.finance_tracker.dtos.BudgetRequest;
+import com.example.finance_tracker.dtos.BudgetResponse;
+import com.example.finance_tracker.dtos.BudgetStatusResponse;
+import com.example.finance_tracker.entities.BudgetEntity;
+import com.example.finance_tracker.models.Budget;
+import com.example.finance_tracker.models.BudgetStatus;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface BudgetMapper {
+
+    @Mapping(source = "categoryEntity.id", target = "categoryId")
+    @Mapping(source = "userEntity.id", target = "userId")
+    Budget toModel(BudgetEntity entity);
+
+    @Mapping(target = "categoryId", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    Budget toModel(BudgetRequest budgetRequest);
+
+    BudgetResponse toResponse(Budget budget);
+
+    BudgetStatusResponse toResponse(BudgetStatus budgetStatus);
+}
@@ -4,6 +4,7 @@ import com.example.finance_tracker.dtos.TransactionRequest;
 import com.example.finance_tracker.dtos.TransactionResponse;
 import com.example.finance_tracker.entities.TransactionEntity;
 import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TransactionView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -17,4 +18,9 @@ public interface TransactionMapper {
     Transaction toModel(TransactionRequest request);
 
     TransactionResponse toResponse(Transaction transaction);
-}
\ No newline at end of file
+
+    TransactionView toView(Transaction transaction);
+
+    @Mapping(source = "userId", target = "userId")
+    TransactionResponse toResponse(TransactionView view, Long userId);
+}
@@ -0,0 +1,88 @@
+package com.example.finance_tracker.migrations;
+
+import com.example.finance_tracker.entities.MonthlyRollupId;
+import com.example.finance_tracker.services.sketches.AmountSketch;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fills the amount sketches with the transactions written before V7 created the table. Bucket numbers are computed
+ * by {@link AmountSketch}, so this runs in Java; the table is rebuilt from scratch so it can run on any state.
+ */
+@Component
+public class V10__Backfill_amount_sketches extends BaseJavaMigration {
+
+    private static final String AMOUNTS = """
+                SELECT user_id, YEAR(date), MONTH(date), type, category_id, amount, COUNT(*)
+                FROM transactions
+                GROUP BY user_id, YEAR(date), MONTH(date), type, category_id, amount
+                ORDER BY user_id
+            """;
+
+    private static final String INSERT = """
+                INSERT INTO amount_sketches (user_id, month_start, type, category_id, bucket, tx_count)
+                VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM amount_sketches");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet amounts = select.executeQuery(AMOUNTS);
+             PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            Long userId = null;
+            Map<SketchRow, Long> counts = new LinkedHashMap<>();
+            while (amounts.next()) {
+                long rowUserId = amounts.getLong(1);
+                if (userId != null && userId != rowUserId) {
+                    insert(insert, userId, counts);
+                }
+                userId = rowUserId;
+                long categoryId = amounts.getLong(5);
+                if (amounts.wasNull()) {
+                    categoryId = MonthlyRollupId.UNCATEGORIZED;
+                }
+                SketchRow row = new SketchRow(LocalDate.of(amounts.getInt(2), amounts.getInt(3), 1),
+                        amounts.getString(4), categoryId, AmountSketch.bucketOf(amounts.getBigDecimal(6)));
+                counts.merge(row, amounts.getLong(7), Long::sum);
+            }
+            if (userId != null) {
+                insert(insert, userId, counts);
+            }
+        }
+    }
+
+    // one batch per user keeps memory bounded by the largest ledger
+    private static void insert(PreparedStatement insert, long userId, Map<SketchRow, Long> counts)
+            throws SQLException {
+        for (Map.Entry<SketchRow, Long> entry : counts.entrySet()) {
+            SketchRow row = entry.getKey();
+            insert.setLong(1, userId);
+            insert.setObject(2, row.monthStart());
+            insert.setString(3, row.type());
+            insert.setLong(4, row.categoryId());
+            insert.setInt(5, row.bucket());
+            insert.setLong(6, entry.getValue());
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        counts.clear();
+    }
+
+    private record SketchRow(LocalDate monthStart, String type, long categoryId, int bucket) {
+    }
+}
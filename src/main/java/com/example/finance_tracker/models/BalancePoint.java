@@ -0,0 +1,10 @@
+package com.example.finance_tracker.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BalancePoint(
+        LocalDate date,
+        BigDecimal balance
+) {
+}
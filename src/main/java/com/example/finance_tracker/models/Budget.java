@@ -0,0 +1,18 @@
+package com.example.finance_tracker.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Budget {
+    private Long categoryId;
+    private BigDecimal monthlyLimit;
+    private Long userId;
+}
@@ -0,0 +1,12 @@
+package com.example.finance_tracker.models;
+
+import java.util.List;
+
+public record Dashboard(
+        MonthlySummary summary,
+        List<CategorySummary> incomeByCategory,
+        List<CategorySummary> expenseByCategory,
+        List<TrendPoint> trend,
+        List<TransactionView> recentTransactions
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.finance_tracker.models;
+
+import java.time.LocalDate;
+
+public record DateRange(
+        LocalDate from,
+        LocalDate to
+) {
+}
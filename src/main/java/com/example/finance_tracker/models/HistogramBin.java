@@ -0,0 +1,10 @@
+package com.example.finance_tracker.models;
+
+import java.math.BigDecimal;
+
+public record HistogramBin(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {
+}
@@ -7,6 +7,7 @@ public record MonthlySummary(
         YearMonth month,
         BigDecimal income,
         BigDecimal expense,
-        BigDecimal balance
+        BigDecimal balance,
+        long transactionCount
 ) {
 }
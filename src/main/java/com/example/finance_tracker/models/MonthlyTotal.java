@@ -0,0 +1,15 @@
+package com.example.finance_tracker.models;
+
+import com.example.finance_tracker.common.Type;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public record MonthlyTotal(
+        YearMonth month,
+        Type type,
+        Long categoryId,
+        BigDecimal total,
+        long count
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.finance_tracker.models;
+
+import com.example.finance_tracker.common.Type;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public record RollupDrift(
+        YearMonth month,
+        Type type,
+        Long categoryId,
+        BigDecimal expectedTotal,
+        BigDecimal actualTotal,
+        long expectedCount,
+        long actualCount
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.finance_tracker.models;
+
+import java.util.List;
+
+public record SummaryBatch(
+        List<MonthlySummary> months,
+        List<PeriodSummary> periods
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.finance_tracker.models;
+
+import java.math.BigDecimal;
+
+public record TopItem(
+        Long categoryId,
+        String name,
+        BigDecimal total,
+        BigDecimal percentage
+) {
+}
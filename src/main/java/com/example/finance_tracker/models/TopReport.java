@@ -0,0 +1,11 @@
+package com.example.finance_tracker.models;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TopReport(
+        BigDecimal total,
+        List<TopItem> items,
+        TopItem other
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.finance_tracker.models;
+
+import java.util.List;
+
+public record TransactionPage(
+        List<TransactionView> items,
+        String nextCursor,
+        Long totalCount
+) {
+}
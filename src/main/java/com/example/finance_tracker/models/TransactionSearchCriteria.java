@@ -0,0 +1,18 @@
+package com.example.finance_tracker.models;
+
+import com.example.finance_tracker.common.Type;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+public record TransactionSearchCriteria(
+        Type type,
+        Set<Long> categoryIds,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        String text
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.finance_tracker.models;
+
+import com.example.finance_tracker.common.Type;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TransactionView(
+        Long id,
+        Type type,
+        BigDecimal amount,
+        LocalDate date,
+        String description,
+        Long categoryId
+) {
+}
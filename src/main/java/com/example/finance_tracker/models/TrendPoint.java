@@ -0,0 +1,13 @@
+package com.example.finance_tracker.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TrendPoint(
+        LocalDate start,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net,
+        long transactionCount
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.finance_tracker.projections;
+
+import com.example.finance_tracker.common.Type;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Getter
+public class AmountCountProjection {
+    private final YearMonth yearMonth;
+    private final Type type;
+    private final Long categoryId;
+    private final BigDecimal amount;
+    private final long count;
+
+    public AmountCountProjection(Number year, Number month, Type type, Long categoryId, BigDecimal amount,
+                                 Number count) {
+        this.yearMonth = YearMonth.of(year.intValue(), month.intValue());
+        this.type = type;
+        this.categoryId = categoryId;
+        this.amount = amount;
+        this.count = count.longValue();
+    }
+}
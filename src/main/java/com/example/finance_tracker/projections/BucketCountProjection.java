@@ -0,0 +1,6 @@
+package com.example.finance_tracker.projections;
+
+public record BucketCountProjection(
+        Integer bucket,
+        Long count) {
+}
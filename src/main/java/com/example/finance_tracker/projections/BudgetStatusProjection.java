@@ -0,0 +1,10 @@
+package com.example.finance_tracker.projections;
+
+import java.math.BigDecimal;
+
+public record BudgetStatusProjection(
+        Long categoryId,
+        String categoryName,
+        BigDecimal monthlyLimit,
+        BigDecimal spent) {
+}
@@ -0,0 +1,8 @@
+package com.example.finance_tracker.projections;
+
+import java.math.BigDecimal;
+
+public record DescriptionTotalProjection(
+        String description,
+        BigDecimal total) {
+}
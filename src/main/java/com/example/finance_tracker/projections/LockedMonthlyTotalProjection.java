@@ -0,0 +1,26 @@
+package com.example.finance_tracker.projections;
+
+import com.example.finance_tracker.common.Type;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+// read by native locking queries, which return the type column by name and the category id as the driver's integer
+@Getter
+public class LockedMonthlyTotalProjection {
+    private final YearMonth yearMonth;
+    private final Type type;
+    private final Long categoryId;
+    private final BigDecimal total;
+    private final long count;
+
+    public LockedMonthlyTotalProjection(Number year, Number month, String type, Number categoryId, BigDecimal total,
+                                        Number count) {
+        this.yearMonth = YearMonth.of(year.intValue(), month.intValue());
+        this.type = Type.valueOf(type);
+        this.categoryId = categoryId == null ? null : categoryId.longValue();
+        this.total = total;
+        this.count = count.longValue();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.finance_tracker.projections;
+
+import com.example.finance_tracker.common.Type;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Getter
+public class MonthlyTotalProjection {
+    private final YearMonth yearMonth;
+    private final Type type;
+    private final Long categoryId;
+    private final BigDecimal total;
+    private final long count;
+
+    public MonthlyTotalProjection(Number year, Number month, Type type, Long categoryId, BigDecimal total,
+                                  Number count) {
+        this.yearMonth = YearMonth.of(year.intValue(), month.intValue());
+        this.type = type;
+        this.categoryId = categoryId;
+        this.total = total;
+        this.count = count.longValue();
+    }
+}
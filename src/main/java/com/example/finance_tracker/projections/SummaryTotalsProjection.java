@@ -0,0 +1,11 @@
+package com.example.finance_tracker.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record SummaryTotalsProjection(
+        LocalDate date,
+        BigDecimal income,
+        BigDecimal expense,
+        Long count) {
+}
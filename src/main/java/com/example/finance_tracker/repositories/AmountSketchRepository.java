@@ -0,0 +1,67 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.AmountSketchEntity;
+import com.example.finance_tracker.entities.AmountSketchId;
+import com.example.finance_tracker.projections.BucketCountProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AmountSketchRepository extends JpaRepository<AmountSketchEntity, AmountSketchId> {
+    List<AmountSketchEntity> findByIdUserIdAndIdCategoryId(Long userId, Long categoryId);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO amount_sketches (user_id, month_start, type, category_id, bucket, tx_count)
+                VALUES (:userId, :monthStart, :type, :categoryId, :bucket, :count)
+                ON DUPLICATE KEY UPDATE tx_count = tx_count + :count
+            """, nativeQuery = true)
+    void addToSketch(Long userId, LocalDate monthStart, String type, Long categoryId, int bucket, long count);
+
+    @Modifying
+    @Query("DELETE FROM AmountSketchEntity s WHERE s.id.userId = :userId AND s.count <= 0")
+    int deleteEmpty(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM AmountSketchEntity s WHERE s.id.userId = :userId AND s.id.categoryId = :categoryId")
+    int deleteByUserAndCategory(Long userId, Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM AmountSketchEntity s WHERE s.id.userId = :userId AND s.id.monthStart IN :monthStarts")
+    int deleteByUserAndMonthStartIn(Long userId, Collection<LocalDate> monthStarts);
+
+    @Modifying
+    @Query("DELETE FROM AmountSketchEntity s WHERE s.id.userId = :userId")
+    int deleteByUser(Long userId);
+
+    // merging sketches is adding their counts bucket by bucket
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.BucketCountProjection(s.id.bucket, SUM(s.count))
+                FROM AmountSketchEntity s
+                WHERE s.id.userId = :userId
+                  AND s.id.type = :type
+                  AND s.id.monthStart BETWEEN :from AND :to
+                GROUP BY s.id.bucket
+                ORDER BY s.id.bucket
+            """)
+    List<BucketCountProjection> bucketCounts(Long userId, Type type, LocalDate from, LocalDate to);
+
+    // a separate query rather than an optional predicate, so the category is a plain key filter in the plan
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.BucketCountProjection(s.id.bucket, SUM(s.count))
+                FROM AmountSketchEntity s
+                WHERE s.id.userId = :userId
+                  AND s.id.type = :type
+                  AND s.id.monthStart BETWEEN :from AND :to
+                  AND s.id.categoryId = :categoryId
+                GROUP BY s.id.bucket
+                ORDER BY s.id.bucket
+            """)
+    List<BucketCountProjection> bucketCountsByCategory(Long userId, Type type, LocalDate from, LocalDate to,
+                                                       Long categoryId);
+}
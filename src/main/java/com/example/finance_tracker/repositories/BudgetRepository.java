@@ -0,0 +1,64 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.entities.BudgetEntity;
+import com.example.finance_tracker.projections.BudgetStatusProjection;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@NullMarked
+public interface BudgetRepository extends JpaRepository<BudgetEntity, Long> {
+    @EntityGraph(attributePaths = {"categoryEntity", "userEntity"})
+    List<BudgetEntity> findByUserEntityId(Long userId);
+
+    Optional<BudgetEntity> findByCategoryEntityIdAndUserEntityId(Long categoryId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM BudgetEntity b WHERE b.categoryEntity.id = :categoryId AND b.userEntity.id = :userId")
+    int deleteByCategoryAndUser(Long categoryId, Long userId);
+
+    // spent is the rollup's running expense total for the month, kept current by every transaction write
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.BudgetStatusProjection(
+                    c.id,
+                    c.name,
+                    b.monthlyLimit,
+                    COALESCE(r.total, 0)
+                )
+                FROM BudgetEntity b
+                JOIN b.categoryEntity c
+                LEFT JOIN MonthlyRollupEntity r
+                    ON r.id.userId = :userId
+                   AND r.id.monthStart = :monthStart
+                   AND r.id.type = com.example.finance_tracker.common.Type.EXPENSE
+                   AND r.id.categoryId = c.id
+                WHERE b.userEntity.id = :userId
+                ORDER BY c.name, c.id
+            """)
+    List<BudgetStatusProjection> statusByUser(Long userId, LocalDate monthStart);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.BudgetStatusProjection(
+                    c.id,
+                    c.name,
+                    b.monthlyLimit,
+                    COALESCE(r.total, 0)
+                )
+                FROM BudgetEntity b
+                JOIN b.categoryEntity c
+                LEFT JOIN MonthlyRollupEntity r
+                    ON r.id.userId = :userId
+                   AND r.id.monthStart = :monthStart
+                   AND r.id.type = com.example.finance_tracker.common.Type.EXPENSE
+                   AND r.id.categoryId = c.id
+                WHERE b.userEntity.id = :userId
+                  AND c.id = :categoryId
+            """)
+    Optional<BudgetStatusProjection> statusByUserAndCategory(Long userId, LocalDate monthStart, Long categoryId);
+}
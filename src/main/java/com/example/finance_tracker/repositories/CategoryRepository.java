@@ -4,7 +4,10 @@ import com.example.finance_tracker.entities.CategoryEntity;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +18,9 @@ public interface CategoryRepository extends JpaRepository<CategoryEntity, Long>
 
     Optional<CategoryEntity> findByIdAndUserEntityId(Long id, Long userEntityId);
 
-    Boolean existsByIdAndUserEntityId(Long id, Long userEntityId);
+    @Modifying
+    @Query("DELETE FROM CategoryEntity c WHERE c.id = :id AND c.userEntity.id = :userId")
+    int deleteByIdAndUser(Long id, Long userId);
+
+    List<CategoryEntity> findByUserEntityIdAndIdIn(Long userEntityId, Collection<Long> ids);
 }
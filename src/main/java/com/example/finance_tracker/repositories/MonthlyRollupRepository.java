@@ -0,0 +1,101 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.MonthlyRollupEntity;
+import com.example.finance_tracker.entities.MonthlyRollupId;
+import com.example.finance_tracker.projections.CategorySummaryProjection;
+import com.example.finance_tracker.projections.CategoryTotalProjection;
+import com.example.finance_tracker.projections.SummaryTotalsProjection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollupEntity, MonthlyRollupId> {
+    List<MonthlyRollupEntity> findByIdUserId(Long userId);
+
+    List<MonthlyRollupEntity> findByIdUserIdAndIdCategoryId(Long userId, Long categoryId);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO monthly_rollups (user_id, month_start, type, category_id, total, tx_count)
+                VALUES (:userId, :monthStart, :type, :categoryId, :total, :count)
+                ON DUPLICATE KEY UPDATE total = total + :total, tx_count = tx_count + :count
+            """, nativeQuery = true)
+    void addToRollup(Long userId, LocalDate monthStart, String type, Long categoryId, BigDecimal total, long count);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollupEntity r WHERE r.id.userId = :userId AND r.count = 0")
+    int deleteEmpty(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollupEntity r WHERE r.id.userId = :userId AND r.id.categoryId = :categoryId")
+    int deleteByUserAndCategory(Long userId, Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollupEntity r WHERE r.id.userId = :userId")
+    int deleteByUser(Long userId);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.SummaryTotalsProjection(
+                    r.id.monthStart,
+                    SUM(CASE WHEN r.id.type = com.example.finance_tracker.common.Type.INCOME THEN r.total ELSE 0 END),
+                    SUM(CASE WHEN r.id.type = com.example.finance_tracker.common.Type.EXPENSE THEN r.total ELSE 0 END),
+                    SUM(r.count)
+                )
+                FROM MonthlyRollupEntity r
+                WHERE r.id.userId = :userId
+                  AND r.id.monthStart IN :monthStarts
+                GROUP BY r.id.monthStart
+            """)
+    List<SummaryTotalsProjection> summaryByMonth(Long userId, Collection<LocalDate> monthStarts);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.CategorySummaryProjection(
+                    c.id,
+                    c.name,
+                    COALESCE(SUM(r.total), 0)
+                )
+                FROM MonthlyRollupEntity r
+                JOIN CategoryEntity c ON c.id = r.id.categoryId
+                WHERE r.id.userId = :userId
+                  AND r.id.type = :type
+                  AND r.id.monthStart = :monthStart
+                GROUP BY c.id, c.name
+            """)
+    List<CategorySummaryProjection> summaryByCategory(Long userId, Type type, LocalDate monthStart);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.SummaryTotalsProjection(
+                    r.id.monthStart,
+                    SUM(CASE WHEN r.id.type = com.example.finance_tracker.common.Type.INCOME THEN r.total ELSE 0 END),
+                    SUM(CASE WHEN r.id.type = com.example.finance_tracker.common.Type.EXPENSE THEN r.total ELSE 0 END),
+                    SUM(r.count)
+                )
+                FROM MonthlyRollupEntity r
+                WHERE r.id.userId = :userId
+                  AND r.id.monthStart BETWEEN :from AND :to
+                GROUP BY r.id.monthStart
+            """)
+    List<SummaryTotalsProjection> summaryByMonthRange(Long userId, LocalDate from, LocalDate to);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.CategoryTotalProjection(
+                    r.id.categoryId,
+                    SUM(r.total)
+                )
+                FROM MonthlyRollupEntity r
+                JOIN CategoryEntity c ON c.id = r.id.categoryId AND c.userEntity.id = :userId
+                WHERE r.id.userId = :userId
+                  AND r.id.type = :type
+                  AND r.id.monthStart BETWEEN :from AND :to
+                GROUP BY r.id.categoryId
+                ORDER BY SUM(r.total) DESC, r.id.categoryId
+            """)
+    List<CategoryTotalProjection> totalsByCategory(Long userId, Type type, LocalDate from, LocalDate to, Limit limit);
+}
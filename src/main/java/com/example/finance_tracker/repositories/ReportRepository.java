@@ -2,58 +2,47 @@ package com.example.finance_tracker.repositories;
 
 import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.entities.TransactionEntity;
-import com.example.finance_tracker.projections.CategorySummaryProjection;
-import com.example.finance_tracker.projections.MonthlyTrendProjection;
+import com.example.finance_tracker.projections.CategoryTotalProjection;
+import com.example.finance_tracker.projections.DescriptionTotalProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface ReportRepository extends JpaRepository<TransactionEntity, Long> {
-    @Query("""
-                SELECT COALESCE(SUM(t.amount), 0)
-                FROM TransactionEntity t
-                WHERE t.userEntity.id = :userId
-                  AND t.type = :type
-                  AND t.date BETWEEN :from AND :to
-            """)
-    BigDecimal sumByTypeAndDateRange(Long userId, Type type, LocalDate from, LocalDate to);
+public interface ReportRepository extends JpaRepository<TransactionEntity, Long>, ReportSummaryRepository {
 
     @Query("""
-                SELECT new com.example.finance_tracker.projections.CategorySummaryProjection(
-                    c.id,
-                    c.name,
-                    COALESCE(SUM(t.amount), 0)
+                SELECT new com.example.finance_tracker.projections.CategoryTotalProjection(
+                    t.categoryEntity.id,
+                    SUM(t.amount)
                 )
                 FROM TransactionEntity t
-                JOIN t.categoryEntity c
                 WHERE t.userEntity.id = :userId
                   AND t.type = :type
                   AND t.date BETWEEN :from AND :to
-                GROUP BY c.id, c.name
+                  AND t.categoryEntity IS NOT NULL
+                GROUP BY t.categoryEntity.id
+                ORDER BY SUM(t.amount) DESC, t.categoryEntity.id
             """)
-    List<CategorySummaryProjection> monthlySummaryByCategory(Long userId, Type type, LocalDate from, LocalDate to);
+    List<CategoryTotalProjection> totalsByCategory(Long userId, Type type, LocalDate from, LocalDate to, Limit limit);
 
+    // descriptions differing only in case are one merchant; any of their spellings is shown
     @Query("""
-                SELECT new com.example.finance_tracker.projections.MonthlyTrendProjection(
-                    EXTRACT(YEAR FROM t.date),
-                    EXTRACT(MONTH FROM t.date),
-                    COALESCE(SUM(t.amount), 0)
+                SELECT new com.example.finance_tracker.projections.DescriptionTotalProjection(
+                    MIN(t.description),
+                    SUM(t.amount)
                 )
                 FROM TransactionEntity t
                 WHERE t.userEntity.id = :userId
                   AND t.type = :type
-                  AND t.date >= :from
-                  AND t.date <= :to
-                GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date)
-                ORDER BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date)
+                  AND t.date BETWEEN :from AND :to
+                  AND t.description IS NOT NULL
+                  AND t.description <> ''
+                GROUP BY LOWER(t.description)
+                ORDER BY SUM(t.amount) DESC, LOWER(t.description)
             """)
-    List<MonthlyTrendProjection> getMonthlyAggregates(
-            Long userId,
-            Type type,
-            LocalDate from,
-            LocalDate to
-    );
+    List<DescriptionTotalProjection> totalsByDescription(Long userId, Type type, LocalDate from, LocalDate to,
+                                                         Limit limit);
 }
@@ -0,0 +1,10 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.models.DateRange;
+import com.example.finance_tracker.projections.SummaryTotalsProjection;
+
+import java.util.List;
+
+public interface ReportSummaryRepository {
+    List<SummaryTotalsProjection> dailyTotals(Long userId, List<DateRange> ranges);
+}
@@ -0,0 +1,55 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.TransactionEntity;
+import com.example.finance_tracker.models.DateRange;
+import com.example.finance_tracker.projections.SummaryTotalsProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+class ReportSummaryRepositoryImpl implements ReportSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    // income, expense and count come from the same pass over the rows, one group per day
+    @Override
+    public List<SummaryTotalsProjection> dailyTotals(Long userId, List<DateRange> ranges) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SummaryTotalsProjection> query = cb.createQuery(SummaryTotalsProjection.class);
+        Root<TransactionEntity> t = query.from(TransactionEntity.class);
+        Path<LocalDate> date = t.get("date");
+        Path<BigDecimal> amount = t.get("amount");
+
+        Predicate[] inRanges = ranges.stream()
+                .map(range -> cb.between(date, range.from(), range.to()))
+                .toArray(Predicate[]::new);
+
+        query.select(cb.construct(SummaryTotalsProjection.class,
+                        date,
+                        cb.sum(amountOf(cb, t, amount, Type.INCOME)),
+                        cb.sum(amountOf(cb, t, amount, Type.EXPENSE)),
+                        cb.count(t)))
+                .where(cb.equal(t.get("userEntity").get("id"), userId), cb.or(inRanges))
+                .groupBy(date);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private Expression<BigDecimal> amountOf(CriteriaBuilder cb, Root<TransactionEntity> t, Path<BigDecimal> amount,
+                                            Type type) {
+        return cb.<BigDecimal>selectCase()
+                .when(cb.equal(t.get("type"), type), amount)
+                .otherwise(BigDecimal.ZERO);
+    }
+}
@@ -2,42 +2,294 @@ package com.example.finance_tracker.repositories;
 
 import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.entities.TransactionEntity;
+import com.example.finance_tracker.models.TransactionExportRow;
+import com.example.finance_tracker.models.TransactionView;
+import com.example.finance_tracker.projections.AmountCountProjection;
+import com.example.finance_tracker.projections.LockedMonthlyTotalProjection;
+import com.example.finance_tracker.projections.MonthlyTotalProjection;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.jspecify.annotations.NullMarked;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @NullMarked
-public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
-    @EntityGraph(attributePaths = {"categoryEntity", "userEntity"})
-    List<TransactionEntity> findByUserEntityId(Long userId);
+public interface TransactionRepository extends JpaRepository<TransactionEntity, Long>, TransactionSearchRepository {
+    // writers lock the rows they change before reading their totals, so the rollup deltas match what is removed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TransactionEntity t WHERE t.id = :id AND t.userEntity.id = :userId")
+    Optional<TransactionEntity> findForUpdate(Long id, Long userId);
+
+    /*
+     * Deletes read their totals with one locking GROUP BY over the rows they are about to remove. InnoDB locks every
+     * row the statement reads, plus the gaps of the index range it scans, so no concurrent update can change, add
+     * or move a row into the set before the matching DELETE runs.
+     */
+    @Query(value = """
+                SELECT YEAR(t.date) AS tx_year, MONTH(t.date) AS tx_month, t.type, t.category_id,
+                       SUM(t.amount) AS total, COUNT(*) AS tx_count
+                FROM transactions t
+                WHERE t.user_id = :userId
+                  AND t.id IN :ids
+                GROUP BY YEAR(t.date), MONTH(t.date), t.type, t.category_id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<LockedMonthlyTotalProjection> lockMonthlyTotalsByUserAndIdIn(Long userId, Collection<Long> ids);
 
-    Optional<TransactionEntity> findByIdAndUserEntityId(Long id, Long userId);
+    @Query(value = """
+                SELECT YEAR(t.date) AS tx_year, MONTH(t.date) AS tx_month, t.type, t.category_id,
+                       SUM(t.amount) AS total, COUNT(*) AS tx_count
+                FROM transactions t
+                WHERE t.user_id = :userId
+                  AND t.date >= :from
+                  AND t.date <= :to
+                GROUP BY YEAR(t.date), MONTH(t.date), t.type, t.category_id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<LockedMonthlyTotalProjection> lockMonthlyTotalsByUserAndDateRange(Long userId, LocalDate from,
+                                                                           LocalDate to);
 
-    Boolean existsByIdAndUserEntityId(Long id, Long userId);
+    @Query(value = """
+                SELECT YEAR(t.date) AS tx_year, MONTH(t.date) AS tx_month, t.type, t.category_id,
+                       SUM(t.amount) AS total, COUNT(*) AS tx_count
+                FROM transactions t
+                WHERE t.user_id = :userId
+                  AND t.category_id = :categoryId
+                GROUP BY YEAR(t.date), MONTH(t.date), t.type, t.category_id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<LockedMonthlyTotalProjection> lockMonthlyTotalsByUserAndCategory(Long userId, Long categoryId);
 
-    @EntityGraph(attributePaths = {"categoryEntity", "userEntity"})
-    List<TransactionEntity> findByUserEntityIdAndType(Long userId, Type type);
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.MonthlyTotalProjection(
+                    EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.categoryEntity.id,
+                    SUM(t.amount), COUNT(t))
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.categoryEntity.id
+            """)
+    List<MonthlyTotalProjection> monthlyTotalsByUser(Long userId);
 
-    @EntityGraph(attributePaths = {"categoryEntity", "userEntity"})
-    List<TransactionEntity> findByUserEntityIdAndCategoryEntityId(Long userId, Long categoryId);
+    @Query("""
+                SELECT new com.example.finance_tracker.projections.AmountCountProjection(
+                    EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.categoryEntity.id,
+                    t.amount, COUNT(t))
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.date >= :from
+                  AND t.date <= :to
+                GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.categoryEntity.id, t.amount
+            """)
+    List<AmountCountProjection> amountCountsByUserAndDateRange(Long userId, LocalDate from, LocalDate to);
 
     @Query("""
-                SELECT t FROM TransactionEntity t
+                SELECT new com.example.finance_tracker.projections.AmountCountProjection(
+                    EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.categoryEntity.id,
+                    t.amount, COUNT(t))
+                FROM TransactionEntity t
                 WHERE t.userEntity.id = :userId
-                  AND (:from IS NULL OR t.date >= :from)
-                  AND (:to IS NULL OR t.date <= :to)
-                ORDER BY t.date DESC
+                GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.categoryEntity.id, t.amount
             """)
+    List<AmountCountProjection> amountCountsByUser(Long userId);
 
-    @EntityGraph(attributePaths = {"categoryEntity", "userEntity"})
-    List<TransactionEntity> findByUserAndDateRange(@Param("userId") Long userId,
-                                                   @Param("from") LocalDate from,
-                                                   @Param("to") LocalDate to);
+    @Modifying
+    @Query("DELETE FROM TransactionEntity t WHERE t.id = :id AND t.userEntity.id = :userId")
+    int deleteByIdAndUser(Long id, Long userId);
 
+    @Modifying
+    @Query("DELETE FROM TransactionEntity t WHERE t.userEntity.id = :userId AND t.id IN :ids")
+    int deleteByUserAndIdIn(Long userId, Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+                DELETE FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.date >= :from
+                  AND t.date <= :to
+            """)
+    int deleteByUserAndDateRange(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM TransactionEntity t WHERE t.userEntity.id = :userId AND t.categoryEntity.id = :categoryId")
+    int deleteByUserAndCategory(Long userId, Long categoryId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionExportRow(
+                    t.date, c.name, t.type, t.amount)
+                FROM TransactionEntity t
+                LEFT JOIN t.categoryEntity c
+                WHERE t.userEntity.id = :userId
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    Stream<TransactionExportRow> streamExportRows(Long userId);
+
+    // bounded on both sides so the (user_id, date, id) index is range scanned; an IS NULL guard would hide the range
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionExportRow(
+                    t.date, c.name, t.type, t.amount)
+                FROM TransactionEntity t
+                LEFT JOIN t.categoryEntity c
+                WHERE t.userEntity.id = :userId
+                  AND t.date BETWEEN :from AND :to
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    Stream<TransactionExportRow> streamExportRowsBetween(Long userId, LocalDate from, LocalDate to);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findFirstPageByUser(Long userId, Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.date <= :date
+                  AND (t.date < :date OR t.id < :id)
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findPageByUserAfter(Long userId, LocalDate date, Long id, Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.type = :type
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findFirstPageByUserAndType(Long userId, Type type, Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.type = :type
+                  AND t.date <= :date
+                  AND (t.date < :date OR t.id < :id)
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findPageByUserAndTypeAfter(Long userId, Type type, LocalDate date, Long id, Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.categoryEntity.id = :categoryId
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findFirstPageByUserAndCategory(Long userId, Long categoryId, Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.categoryEntity.id = :categoryId
+                  AND t.date <= :date
+                  AND (t.date < :date OR t.id < :id)
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findPageByUserAndCategoryAfter(Long userId, Long categoryId, LocalDate date, Long id,
+                                                         Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.date >= :from
+                  AND t.date <= :to
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findFirstPageByUserAndDateRange(Long userId, LocalDate from, LocalDate to, Limit limit);
+
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.date >= :from
+                  AND t.date <= :to
+                  AND t.date <= :date
+                  AND (t.date < :date OR t.id < :id)
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionView> findPageByUserAndDateRangeAfter(Long userId, LocalDate from, LocalDate to,
+                                                          LocalDate date, Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    Stream<TransactionView> streamByUser(Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                ORDER BY t.date, t.id
+            """)
+    Stream<TransactionView> streamByUserOldestFirst(Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.type = :type
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    Stream<TransactionView> streamByUserAndType(Long userId, Type type);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.categoryEntity.id = :categoryId
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    Stream<TransactionView> streamByUserAndCategory(Long userId, Long categoryId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.finance_tracker.models.TransactionView(
+                    t.id, t.type, t.amount, t.date, t.description, t.categoryEntity.id)
+                FROM TransactionEntity t
+                WHERE t.userEntity.id = :userId
+                  AND t.date >= :from
+                  AND t.date <= :to
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    Stream<TransactionView> streamByUserAndDateRange(Long userId, LocalDate from, LocalDate to);
 }
@@ -0,0 +1,13 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.common.TransactionCursor;
+import com.example.finance_tracker.models.TransactionSearchCriteria;
+import com.example.finance_tracker.models.TransactionView;
+
+import java.util.List;
+
+public interface TransactionSearchRepository {
+    List<TransactionView> search(Long userId, TransactionSearchCriteria criteria, TransactionCursor after, int limit);
+
+    long count(Long userId, TransactionSearchCriteria criteria);
+}
@@ -0,0 +1,94 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.common.TransactionCursor;
+import com.example.finance_tracker.entities.TransactionEntity;
+import com.example.finance_tracker.models.TransactionSearchCriteria;
+import com.example.finance_tracker.models.TransactionView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TransactionView> search(Long userId, TransactionSearchCriteria criteria, TransactionCursor after,
+                                        int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionView> query = cb.createQuery(TransactionView.class);
+        Root<TransactionEntity> t = query.from(TransactionEntity.class);
+
+        List<Predicate> predicates = predicates(cb, t, userId, criteria);
+        if (after != null) {
+            Path<LocalDate> date = t.get("date");
+            Path<Long> id = t.get("id");
+            predicates.add(cb.lessThanOrEqualTo(date, after.date()));
+            predicates.add(cb.or(cb.lessThan(date, after.date()), cb.lessThan(id, after.id())));
+        }
+
+        query.select(cb.construct(TransactionView.class,
+                        t.get("id"), t.get("type"), t.get("amount"), t.get("date"), t.get("description"),
+                        t.get("categoryEntity").get("id")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(t.get("date")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long count(Long userId, TransactionSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<TransactionEntity> t = query.from(TransactionEntity.class);
+
+        query.select(cb.count(t)).where(predicates(cb, t, userId, criteria).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // only filters that were supplied become predicates, so every one of them can use a range scan
+    private List<Predicate> predicates(CriteriaBuilder cb, Root<TransactionEntity> t, Long userId,
+                                       TransactionSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(t.get("userEntity").get("id"), userId));
+
+        if (criteria.type() != null) {
+            predicates.add(cb.equal(t.get("type"), criteria.type()));
+        }
+        if (criteria.categoryIds() != null && !criteria.categoryIds().isEmpty()) {
+            predicates.add(t.get("categoryEntity").get("id").in(criteria.categoryIds()));
+        }
+        if (criteria.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("date"), criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("date"), criteria.to()));
+        }
+        if (criteria.minAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.<BigDecimal>get("amount"), criteria.minAmount()));
+        }
+        if (criteria.maxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.<BigDecimal>get("amount"), criteria.maxAmount()));
+        }
+        if (criteria.text() != null && !criteria.text().isBlank()) {
+            String pattern = "%" + escapeLike(criteria.text().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(t.get("description")), pattern, '\\'));
+        }
+        return predicates;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
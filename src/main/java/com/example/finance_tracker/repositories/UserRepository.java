@@ -3,7 +3,10 @@ package com.example.finance_tracker.repositories;
 import com.example.finance_tracker.entities.UserEntity;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 @NullMarked
@@ -11,4 +14,14 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM UserEntity u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    @Query(value = "SELECT ledger_version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findLedgerVersion(Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE users SET ledger_version = ledger_version + 1 WHERE id = :userId", nativeQuery = true)
+    void incrementLedgerVersion(Long userId);
 }
@@ -0,0 +1,10 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.models.AmountDistribution;
+
+import java.time.YearMonth;
+
+public interface AmountSketchService {
+    AmountDistribution getDistribution(Long userId, YearMonth from, YearMonth to, Type type, Long categoryId);
+}
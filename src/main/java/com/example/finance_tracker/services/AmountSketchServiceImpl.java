@@ -0,0 +1,165 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.AmountSketchEntity;
+import com.example.finance_tracker.entities.AmountSketchId;
+import com.example.finance_tracker.entities.MonthlyRollupId;
+import com.example.finance_tracker.events.CategoryDeletedEvent;
+import com.example.finance_tracker.events.RollupRebuiltEvent;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.AmountDistribution;
+import com.example.finance_tracker.models.MonthlyTotal;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.projections.AmountCountProjection;
+import com.example.finance_tracker.projections.BucketCountProjection;
+import com.example.finance_tracker.repositories.AmountSketchRepository;
+import com.example.finance_tracker.repositories.TransactionRepository;
+import com.example.finance_tracker.services.sketches.AmountSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+// like the rollup, sketch rows are adjusted by the writing transaction itself
+@Service
+@RequiredArgsConstructor
+public class AmountSketchServiceImpl implements AmountSketchService {
+
+    private final AmountSketchRepository amountSketchRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AmountDistribution getDistribution(Long userId, YearMonth from, YearMonth to, Type type, Long categoryId) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Start month is after end month");
+        }
+
+        List<BucketCountProjection> rows = categoryId == null
+                ? amountSketchRepository.bucketCounts(userId, type, from.atDay(1), to.atDay(1))
+                : amountSketchRepository.bucketCountsByCategory(userId, type, from.atDay(1), to.atDay(1), categoryId);
+        int[] buckets = new int[rows.size()];
+        long[] counts = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            buckets[i] = rows.get(i).bucket();
+            counts[i] = rows.get(i).count();
+        }
+        AmountSketch sketch = new AmountSketch(buckets, counts);
+        return new AmountDistribution(from, to, sketch.count(), sketch.quantile(0.5), sketch.quantile(0.9),
+                sketch.quantile(0.99), sketch.histogram());
+    }
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<AmountSketchId, Long> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : event.removed()) {
+            deltas.merge(idOf(event.userId(), transaction), -1L, Long::sum);
+        }
+        for (Transaction transaction : event.added()) {
+            deltas.merge(idOf(event.userId(), transaction), 1L, Long::sum);
+        }
+        apply(event.userId(), deltas);
+    }
+
+    /**
+     * The event only carries totals per month, type and category. A total over a single transaction is that
+     * transaction's amount, so its bucket is known; months with larger deletions are rebuilt from what is left.
+     */
+    @EventListener
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        Map<AmountSketchId, Long> deltas = new LinkedHashMap<>();
+        NavigableSet<YearMonth> rebuilt = new TreeSet<>();
+        for (MonthlyTotal total : event.totals()) {
+            if (total.count() == 1) {
+                deltas.merge(idOf(event.userId(), total.month(), total.type(), total.categoryId(), total.total()),
+                        -1L, Long::sum);
+            } else {
+                rebuilt.add(total.month());
+            }
+        }
+        deltas.keySet().removeIf(id -> rebuilt.contains(YearMonth.from(id.getMonthStart())));
+        apply(event.userId(), deltas);
+        if (!rebuilt.isEmpty()) {
+            rebuild(event.userId(), rebuilt);
+        }
+    }
+
+    @EventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        List<AmountSketchEntity> rows = amountSketchRepository
+                .findByIdUserIdAndIdCategoryId(event.userId(), event.categoryId());
+        if (rows.isEmpty()) {
+            return;
+        }
+        amountSketchRepository.deleteByUserAndCategory(event.userId(), event.categoryId());
+        for (AmountSketchEntity row : rows) {
+            AmountSketchId id = row.getId();
+            amountSketchRepository.addToSketch(id.getUserId(), id.getMonthStart(), id.getType().name(),
+                    MonthlyRollupId.UNCATEGORIZED, id.getBucket(), row.getCount());
+        }
+    }
+
+    // a rollup rebuild runs in one transaction with the user row locked; the sketches are rebuilt inside it
+    @EventListener
+    public void onRollupRebuilt(RollupRebuiltEvent event) {
+        amountSketchRepository.deleteByUser(event.userId());
+        addAll(event.userId(), transactionRepository.amountCountsByUser(event.userId()), null);
+    }
+
+    private void rebuild(Long userId, NavigableSet<YearMonth> months) {
+        List<LocalDate> monthStarts = months.stream().map(month -> month.atDay(1)).toList();
+        amountSketchRepository.deleteByUserAndMonthStartIn(userId, monthStarts);
+        addAll(userId, transactionRepository.amountCountsByUserAndDateRange(
+                userId, months.first().atDay(1), months.last().atEndOfMonth()), months);
+    }
+
+    private void addAll(Long userId, List<AmountCountProjection> amounts, Set<YearMonth> months) {
+        Map<AmountSketchId, Long> counts = new LinkedHashMap<>();
+        for (AmountCountProjection amount : amounts) {
+            if (months == null || months.contains(amount.getYearMonth())) {
+                counts.merge(idOf(userId, amount.getYearMonth(), amount.getType(), amount.getCategoryId(),
+                        amount.getAmount()), amount.getCount(), Long::sum);
+            }
+        }
+        apply(userId, counts);
+    }
+
+    private void apply(Long userId, Map<AmountSketchId, Long> deltas) {
+        boolean emptied = false;
+        for (Map.Entry<AmountSketchId, Long> entry : deltas.entrySet()) {
+            AmountSketchId id = entry.getKey();
+            long delta = entry.getValue();
+            if (delta == 0) {
+                continue;
+            }
+            amountSketchRepository.addToSketch(userId, id.getMonthStart(), id.getType().name(), id.getCategoryId(),
+                    id.getBucket(), delta);
+            emptied |= delta < 0;
+        }
+        if (emptied) {
+            amountSketchRepository.deleteEmpty(userId);
+        }
+    }
+
+    private AmountSketchId idOf(Long userId, Transaction transaction) {
+        return idOf(userId, YearMonth.from(transaction.getDate()), transaction.getType(), transaction.getCategoryId(),
+                transaction.getAmount());
+    }
+
+    private AmountSketchId idOf(Long userId, YearMonth month, Type type, Long categoryId, BigDecimal amount) {
+        return new AmountSketchId(userId, month.atDay(1), type,
+                categoryId == null ? MonthlyRollupId.UNCATEGORIZED : categoryId, AmountSketch.bucketOf(amount));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.models.Budget;
+import com.example.finance_tracker.models.BudgetStatus;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface BudgetService {
+    Budget set(Budget budget);
+
+    void delete(Long categoryId, Long userId);
+
+    List<Budget> getByUser(Long userId);
+
+    List<BudgetStatus> getStatus(Long userId, YearMonth month);
+
+    BudgetStatus getStatus(Long userId, Long categoryId, YearMonth month);
+}
@@ -0,0 +1,93 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.BudgetEntity;
+import com.example.finance_tracker.entities.CategoryEntity;
+import com.example.finance_tracker.exceptions.ResourceNotFoundException;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.mappers.BudgetMapper;
+import com.example.finance_tracker.models.Budget;
+import com.example.finance_tracker.models.BudgetStatus;
+import com.example.finance_tracker.projections.BudgetStatusProjection;
+import com.example.finance_tracker.repositories.BudgetRepository;
+import com.example.finance_tracker.repositories.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// budgets add nothing to the write path: spending is read from the monthly rollup the writes already maintain
+@Service
+@RequiredArgsConstructor
+public class BudgetServiceImpl implements BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final CategoryRepository categoryRepository;
+    private final BudgetMapper budgetMapper;
+
+    @Override
+    @Transactional
+    public Budget set(Budget budget) {
+        CategoryEntity categoryEntity = categoryRepository
+                .findByIdAndUserEntityId(budget.getCategoryId(), budget.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Category with id " + budget.getCategoryId() + " was not found for user with id "
+                                + budget.getUserId()));
+        if (categoryEntity.getType() != Type.EXPENSE) {
+            throw new ValidationException("Budgets can only be set for expense categories");
+        }
+
+        BudgetEntity budgetEntity = budgetRepository
+                .findByCategoryEntityIdAndUserEntityId(budget.getCategoryId(), budget.getUserId())
+                .orElseGet(() -> {
+                    BudgetEntity created = new BudgetEntity();
+                    created.setCategoryEntity(categoryEntity);
+                    created.setUserEntity(categoryEntity.getUserEntity());
+                    return created;
+                });
+        budgetEntity.setMonthlyLimit(budget.getMonthlyLimit());
+
+        return budgetMapper.toModel(budgetRepository.save(budgetEntity));
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long categoryId, Long userId) {
+        if (budgetRepository.deleteByCategoryAndUser(categoryId, userId) == 0) {
+            throw new ResourceNotFoundException(
+                    "Budget for category with id " + categoryId + " was not found for user with id " + userId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Budget> getByUser(Long userId) {
+        return budgetRepository.findByUserEntityId(userId).stream()
+                .map(budgetMapper::toModel).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetStatus> getStatus(Long userId, YearMonth month) {
+        return budgetRepository.statusByUser(userId, month.atDay(1)).stream()
+                .map(projection -> toStatus(projection, month))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BudgetStatus getStatus(Long userId, Long categoryId, YearMonth month) {
+        return budgetRepository.statusByUserAndCategory(userId, month.atDay(1), categoryId)
+                .map(projection -> toStatus(projection, month))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Budget for category with id " + categoryId + " was not found for user with id " + userId));
+    }
+
+    private BudgetStatus toStatus(BudgetStatusProjection projection, YearMonth month) {
+        return new BudgetStatus(projection.categoryId(), projection.categoryName(), month,
+                projection.monthlyLimit(), projection.spent(), projection.monthlyLimit().subtract(projection.spent()),
+                projection.spent().compareTo(projection.monthlyLimit()) > 0);
+    }
+}
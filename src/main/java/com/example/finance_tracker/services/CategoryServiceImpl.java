@@ -2,6 +2,8 @@ package com.example.finance_tracker.services;
 
 import com.example.finance_tracker.entities.CategoryEntity;
 import com.example.finance_tracker.entities.UserEntity;
+import com.example.finance_tracker.events.CategoriesChangedEvent;
+import com.example.finance_tracker.events.CategoryDeletedEvent;
 import com.example.finance_tracker.exceptions.ResourceNotFoundException;
 import com.example.finance_tracker.exceptions.ValidationException;
 import com.example.finance_tracker.mappers.CategoryMapper;
@@ -9,6 +11,7 @@ import com.example.finance_tracker.models.Category;
 import com.example.finance_tracker.repositories.CategoryRepository;
 import com.example.finance_tracker.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -36,6 +40,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryEntity.setUserEntity(userEntity);
 
         CategoryEntity savedCategory = categoryRepository.save(categoryEntity);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(category.getUserId()));
         return categoryMapper.toModel(savedCategory);
     }
 
@@ -50,18 +55,18 @@ public class CategoryServiceImpl implements CategoryService {
         categoryEntity.setType(category.getType());
         categoryEntity.setDescription(category.getDescription());
 
+        eventPublisher.publishEvent(new CategoriesChangedEvent(category.getUserId()));
         return categoryMapper.toModel(categoryEntity);
     }
 
     @Override
     @Transactional
     public void delete(Long categoryId, Long userId) {
-        if (categoryRepository.existsByIdAndUserEntityId(categoryId, userId)) {
-            categoryRepository.deleteById(categoryId);
-        } else {
+        if (categoryRepository.deleteByIdAndUser(categoryId, userId) == 0) {
             throw new ResourceNotFoundException(
                     "Category with id " + categoryId + " was not found for user with id " + userId);
         }
+        eventPublisher.publishEvent(new CategoryDeletedEvent(userId, categoryId));
     }
 
     @Override
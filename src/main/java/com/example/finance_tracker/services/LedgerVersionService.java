@@ -0,0 +1,5 @@
+package com.example.finance_tracker.services;
+
+public interface LedgerVersionService {
+    long getVersion(Long userId);
+}
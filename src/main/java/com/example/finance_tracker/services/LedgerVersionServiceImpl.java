@@ -0,0 +1,44 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.events.CategoriesChangedEvent;
+import com.example.finance_tracker.events.CategoryDeletedEvent;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
+import com.example.finance_tracker.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// the version lives on the user row and is bumped by the writing transaction itself,
+// so it is shared by every instance and never moves backwards after a restart
+@Service
+@RequiredArgsConstructor
+public class LedgerVersionServiceImpl implements LedgerVersionService {
+
+    private final UserRepository userRepository;
+
+    @Override
+    public long getVersion(Long userId) {
+        return userRepository.findLedgerVersion(userId).orElse(0L);
+    }
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        userRepository.incrementLedgerVersion(event.userId());
+    }
+
+    @EventListener
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        userRepository.incrementLedgerVersion(event.userId());
+    }
+
+    @EventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        userRepository.incrementLedgerVersion(event.userId());
+    }
+
+    @EventListener
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        userRepository.incrementLedgerVersion(event.userId());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.models.RollupDrift;
+
+import java.util.List;
+
+public interface MonthlyRollupService {
+    void rebuild(Long userId);
+
+    List<RollupDrift> verify(Long userId);
+}
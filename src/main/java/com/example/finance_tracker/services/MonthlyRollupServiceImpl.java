@@ -0,0 +1,163 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.MonthlyRollupEntity;
+import com.example.finance_tracker.entities.MonthlyRollupId;
+import com.example.finance_tracker.events.CategoryDeletedEvent;
+import com.example.finance_tracker.events.RollupRebuiltEvent;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
+import com.example.finance_tracker.models.MonthlyTotal;
+import com.example.finance_tracker.models.RollupDrift;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.projections.MonthlyTotalProjection;
+import com.example.finance_tracker.repositories.MonthlyRollupRepository;
+import com.example.finance_tracker.repositories.TransactionRepository;
+import com.example.finance_tracker.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// rows are adjusted by the writing transaction itself, so reports never see a ledger change without its totals
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupServiceImpl implements MonthlyRollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<MonthlyRollupId, Delta> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : event.removed()) {
+            deltas.merge(idOf(event.userId(), transaction), new Delta(transaction.getAmount().negate(), -1), Delta::plus);
+        }
+        for (Transaction transaction : event.added()) {
+            deltas.merge(idOf(event.userId(), transaction), new Delta(transaction.getAmount(), 1), Delta::plus);
+        }
+        apply(event.userId(), deltas);
+    }
+
+    @EventListener
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        Map<MonthlyRollupId, Delta> deltas = new LinkedHashMap<>();
+        for (MonthlyTotal total : event.totals()) {
+            deltas.merge(idOf(event.userId(), total.month(), total.type(), total.categoryId()),
+                    new Delta(total.total().negate(), -total.count()), Delta::plus);
+        }
+        apply(event.userId(), deltas);
+    }
+
+    @EventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        // the database moved the transactions to "no category", so their totals move with them
+        List<MonthlyRollupEntity> rows = monthlyRollupRepository
+                .findByIdUserIdAndIdCategoryId(event.userId(), event.categoryId());
+        if (rows.isEmpty()) {
+            return;
+        }
+        monthlyRollupRepository.deleteByUserAndCategory(event.userId(), event.categoryId());
+        for (MonthlyRollupEntity row : rows) {
+            MonthlyRollupId id = row.getId();
+            monthlyRollupRepository.addToRollup(id.getUserId(), id.getMonthStart(), id.getType().name(),
+                    MonthlyRollupId.UNCATEGORIZED, row.getTotal(), row.getCount());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Long userId) {
+        // bumping the version locks the user row for the rest of the rebuild and invalidates cached reports
+        userRepository.incrementLedgerVersion(userId);
+        monthlyRollupRepository.deleteByUser(userId);
+        for (MonthlyTotalProjection total : transactionRepository.monthlyTotalsByUser(userId)) {
+            MonthlyRollupId id = idOf(userId, total.getYearMonth(), total.getType(), total.getCategoryId());
+            monthlyRollupRepository.addToRollup(userId, id.getMonthStart(), id.getType().name(), id.getCategoryId(),
+                    total.getTotal(), total.getCount());
+        }
+        eventPublisher.publishEvent(new RollupRebuiltEvent(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RollupDrift> verify(Long userId) {
+        Map<MonthlyRollupId, MonthlyTotalProjection> expected = transactionRepository.monthlyTotalsByUser(userId)
+                .stream()
+                .collect(Collectors.toMap(
+                        total -> idOf(userId, total.getYearMonth(), total.getType(), total.getCategoryId()),
+                        Function.identity()));
+        Map<MonthlyRollupId, MonthlyRollupEntity> actual = monthlyRollupRepository.findByIdUserId(userId)
+                .stream()
+                .collect(Collectors.toMap(MonthlyRollupEntity::getId, Function.identity()));
+
+        Set<MonthlyRollupId> ids = new HashSet<>(expected.keySet());
+        ids.addAll(actual.keySet());
+
+        List<RollupDrift> drifts = new ArrayList<>();
+        for (MonthlyRollupId id : ids) {
+            MonthlyTotalProjection expectedTotal = expected.get(id);
+            MonthlyRollupEntity actualTotal = actual.get(id);
+            BigDecimal expectedAmount = expectedTotal == null ? BigDecimal.ZERO : expectedTotal.getTotal();
+            BigDecimal actualAmount = actualTotal == null ? BigDecimal.ZERO : actualTotal.getTotal();
+            long expectedCount = expectedTotal == null ? 0 : expectedTotal.getCount();
+            long actualCount = actualTotal == null ? 0 : actualTotal.getCount();
+            if (expectedAmount.compareTo(actualAmount) != 0 || expectedCount != actualCount) {
+                drifts.add(new RollupDrift(YearMonth.from(id.getMonthStart()), id.getType(),
+                        id.getCategoryId() == MonthlyRollupId.UNCATEGORIZED ? null : id.getCategoryId(),
+                        expectedAmount, actualAmount, expectedCount, actualCount));
+            }
+        }
+        drifts.sort(Comparator.comparing(RollupDrift::month).thenComparing(RollupDrift::type));
+        return drifts;
+    }
+
+    private void apply(Long userId, Map<MonthlyRollupId, Delta> deltas) {
+        boolean emptied = false;
+        for (Map.Entry<MonthlyRollupId, Delta> entry : deltas.entrySet()) {
+            MonthlyRollupId id = entry.getKey();
+            Delta delta = entry.getValue();
+            if (delta.count() == 0 && delta.total().signum() == 0) {
+                continue;
+            }
+            monthlyRollupRepository.addToRollup(userId, id.getMonthStart(), id.getType().name(), id.getCategoryId(),
+                    delta.total(), delta.count());
+            emptied |= delta.count() < 0;
+        }
+        if (emptied) {
+            monthlyRollupRepository.deleteEmpty(userId);
+        }
+    }
+
+    private MonthlyRollupId idOf(Long userId, Transaction transaction) {
+        return idOf(userId, YearMonth.from(transaction.getDate()), transaction.getType(), transaction.getCategoryId());
+    }
+
+    private MonthlyRollupId idOf(Long userId, YearMonth month, Type type, Long categoryId) {
+        LocalDate monthStart = month.atDay(1);
+        return new MonthlyRollupId(userId, monthStart, type,
+                categoryId == null ? MonthlyRollupId.UNCATEGORIZED : categoryId);
+    }
+
+    private record Delta(BigDecimal total, long count) {
+        Delta plus(Delta other) {
+            return new Delta(total.add(other.total), count + other.count);
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package com.example.finance_tracker.services;
 
+import com.example.finance_tracker.common.Granularity;
 import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.DateRange;
 import com.example.finance_tracker.models.MonthlySummary;
 import com.example.finance_tracker.models.MonthlyTrend;
 import com.example.finance_tracker.models.PeriodSummary;
+import com.example.finance_tracker.models.SummaryBatch;
+import com.example.finance_tracker.models.TopReport;
+import com.example.finance_tracker.models.TrendPoint;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 
 public interface ReportService {
+    /**
+     * Qualifier of the implementation that computes reports, as opposed to the cache in front of it.
+     */
+    String REPORT_ENGINE = "reportEngine";
+
     MonthlySummary getMonthlySummary(Long userId, YearMonth month);
 
     List<CategorySummary> getMonthlySummaryByCategory(Long userId, YearMonth month, Type type);
 
     PeriodSummary getSummaryForPeriod(Long userId, LocalDate from, LocalDate to);
 
+    SummaryBatch getSummaryBatch(Long userId, List<YearMonth> months, List<DateRange> periods);
+
     List<MonthlyTrend> getMonthlyTrend(Long userId, YearMonth from, YearMonth to, Type type);
+
+    List<TrendPoint> getTrend(Long userId, LocalDate from, LocalDate to, Granularity granularity);
+
+    TopReport getTopCategories(Long userId, LocalDate from, LocalDate to, Type type, int limit);
+
+    TopReport getTopDescriptions(Long userId, LocalDate from, LocalDate to, Type type, int limit);
 }
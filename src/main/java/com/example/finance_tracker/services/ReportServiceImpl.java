@@ -1,14 +1,26 @@
 package com.example.finance_tracker.services;
 
+import com.example.finance_tracker.common.Granularity;
 import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.exceptions.ValidationException;
 import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.DateRange;
 import com.example.finance_tracker.models.MonthlySummary;
 import com.example.finance_tracker.models.MonthlyTrend;
 import com.example.finance_tracker.models.PeriodSummary;
-import com.example.finance_tracker.projections.MonthlyTrendProjection;
+import com.example.finance_tracker.models.SummaryBatch;
+import com.example.finance_tracker.models.TopReport;
+import com.example.finance_tracker.models.TrendPoint;
+import com.example.finance_tracker.projections.CategoryTotalProjection;
+import com.example.finance_tracker.projections.SummaryTotalsProjection;
+import com.example.finance_tracker.repositories.CategoryRepository;
+import com.example.finance_tracker.repositories.MonthlyRollupRepository;
 import com.example.finance_tracker.repositories.ReportRepository;
+import com.example.finance_tracker.services.reports.TopRanking;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,35 +28,41 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
+@Qualifier(ReportService.REPORT_ENGINE)
+@ConditionalOnProperty(prefix = "app.reports", name = "engine", havingValue = "rollup", matchIfMissing = true)
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    private static final int MAX_BATCH_SIZE = 60;
+    private static final int MAX_TREND_BUCKETS = 1_000;
+    private static final Comparator<CategoryTotalProjection> TOTAL_ORDER = Comparator
+            .comparing(CategoryTotalProjection::total)
+            .thenComparing(CategoryTotalProjection::categoryId, Comparator.reverseOrder());
+
     private final ReportRepository reportRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final CategoryRepository categoryRepository;
 
     @Override
     @Transactional(readOnly = true)
     public MonthlySummary getMonthlySummary(Long userId, YearMonth month) {
-        LocalDate from = month.atDay(1);
-        LocalDate to = month.atEndOfMonth();
-
-        BigDecimal income = reportRepository.sumByTypeAndDateRange(userId, Type.INCOME, from, to);
-        BigDecimal expense = reportRepository.sumByTypeAndDateRange(userId, Type.EXPENSE, from, to);
-
-        return new MonthlySummary(month, income, expense, income.subtract(expense));
+        return summarize(userId, List.of(month), List.of()).months().getFirst();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CategorySummary> getMonthlySummaryByCategory(Long userId, YearMonth month, Type type) {
-        LocalDate from = month.atDay(1);
-        LocalDate to = month.atEndOfMonth();
-
-        return reportRepository.monthlySummaryByCategory(userId, type, from, to)
+        return monthlyRollupRepository.summaryByCategory(userId, type, month.atDay(1))
                 .stream().map(categorySummaryProjection -> new CategorySummary(
                         categorySummaryProjection.categoryId(),
                         categorySummaryProjection.categoryName(),
@@ -57,10 +75,21 @@ public class ReportServiceImpl implements ReportService {
     public PeriodSummary getSummaryForPeriod(Long userId, LocalDate from, LocalDate to) {
         validateDates(from, to);
 
-        BigDecimal income = reportRepository.sumByTypeAndDateRange(userId, Type.INCOME, from, to);
-        BigDecimal expense = reportRepository.sumByTypeAndDateRange(userId, Type.EXPENSE, from, to);
+        return summarize(userId, List.of(), List.of(new DateRange(from, to))).periods().getFirst();
+    }
 
-        return new PeriodSummary(from, to, income, expense, income.subtract(expense));
+    @Override
+    @Transactional(readOnly = true)
+    public SummaryBatch getSummaryBatch(Long userId, List<YearMonth> months, List<DateRange> periods) {
+        if (months.isEmpty() && periods.isEmpty()) {
+            throw new ValidationException("At least one month or period is required");
+        }
+        if (months.size() + periods.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Cannot summarize more than " + MAX_BATCH_SIZE + " months and periods at once");
+        }
+        periods.forEach(period -> validateDates(period.from(), period.to()));
+
+        return summarize(userId, months, periods);
     }
 
     @Override
@@ -68,24 +97,183 @@ public class ReportServiceImpl implements ReportService {
     public List<MonthlyTrend> getMonthlyTrend(Long userId, YearMonth from, YearMonth to, Type type) {
         validateMonths(from, to);
 
-        List<MonthlyTrendProjection> raw = reportRepository
-                .getMonthlyAggregates(userId, type, from.atDay(1), to.atEndOfMonth());
+        return getTrend(userId, from.atDay(1), to.atEndOfMonth(), Granularity.MONTH).stream()
+                .map(point -> new MonthlyTrend(YearMonth.from(point.start()),
+                        type == Type.INCOME ? point.income() : point.expense()))
+                .toList();
+    }
 
-        Map<YearMonth, BigDecimal> map = raw.stream()
-                .collect(Collectors.toMap(
-                        MonthlyTrendProjection::getYearMonth,
-                        MonthlyTrendProjection::getTotal
-                ));
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrendPoint> getTrend(Long userId, LocalDate from, LocalDate to, Granularity granularity) {
+        validateDates(from, to);
+        if (granularity.bucketCount(from, to) > MAX_TREND_BUCKETS) {
+            throw new ValidationException("Trend cannot have more than " + MAX_TREND_BUCKETS + " buckets");
+        }
+        List<LocalDate> bucketStarts = granularity.bucketStarts(from, to);
+
+        // day and week buckets group on the indexed date column, longer ones on the rollup's month_start key
+        LocalDate first = bucketStarts.getFirst();
+        LocalDate last = granularity.next(bucketStarts.getLast()).minusDays(1);
+        List<SummaryTotalsProjection> rows = switch (granularity) {
+            case DAY, WEEK -> reportRepository.dailyTotals(userId, List.of(new DateRange(first, last)));
+            case MONTH, QUARTER, YEAR -> monthlyRollupRepository.summaryByMonthRange(userId, first, last);
+        };
+
+        Map<LocalDate, Totals> byBucket = new HashMap<>();
+        for (SummaryTotalsProjection row : rows) {
+            byBucket.merge(granularity.startOf(row.date()),
+                    new Totals(row.income(), row.expense(), row.count()), Totals::plus);
+        }
+
+        List<TrendPoint> points = new ArrayList<>(bucketStarts.size());
+        for (LocalDate start : bucketStarts) {
+            Totals totals = byBucket.getOrDefault(start, Totals.ZERO);
+            points.add(new TrendPoint(start, totals.income(), totals.expense(), totals.balance(), totals.count()));
+        }
+        return points;
+    }
 
-        List<MonthlyTrend> result = new ArrayList<>();
-        YearMonth cursor = from;
+    @Override
+    @Transactional(readOnly = true)
+    public TopReport getTopCategories(Long userId, LocalDate from, LocalDate to, Type type, int limit) {
+        validateDates(from, to);
+        TopRanking.validateLimit(limit);
 
-        while (!cursor.isAfter(to)) {
-            result.add(new MonthlyTrend(cursor, map.getOrDefault(cursor, BigDecimal.ZERO)));
-            cursor = cursor.plusMonths(1);
+        DateRange period = new DateRange(from, to);
+        YearMonth firstFullMonth = firstFullMonth(period);
+        YearMonth lastFullMonth = lastFullMonth(period);
+        List<CategoryTotalProjection> top;
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            top = reportRepository.totalsByCategory(userId, type, from, to, Limit.of(limit));
+        } else if (from.equals(firstFullMonth.atDay(1)) && to.equals(lastFullMonth.atEndOfMonth())) {
+            top = monthlyRollupRepository.totalsByCategory(
+                    userId, type, from, lastFullMonth.atDay(1), Limit.of(limit));
+        } else {
+            // whole months and the partial ones at either end are summed apart, so ranking waits for the merge
+            Map<Long, BigDecimal> totals = new HashMap<>();
+            List<CategoryTotalProjection> parts = new ArrayList<>(monthlyRollupRepository.totalsByCategory(
+                    userId, type, firstFullMonth.atDay(1), lastFullMonth.atDay(1), Limit.unlimited()));
+            if (from.isBefore(firstFullMonth.atDay(1))) {
+                parts.addAll(reportRepository.totalsByCategory(
+                        userId, type, from, firstFullMonth.atDay(1).minusDays(1), Limit.unlimited()));
+            }
+            if (to.isAfter(lastFullMonth.atEndOfMonth())) {
+                parts.addAll(reportRepository.totalsByCategory(
+                        userId, type, lastFullMonth.plusMonths(1).atDay(1), to, Limit.unlimited()));
+            }
+            parts.forEach(part -> totals.merge(part.categoryId(), part.total(), BigDecimal::add));
+            top = TopRanking.select(
+                    totals.entrySet().stream()
+                            .map(entry -> new CategoryTotalProjection(entry.getKey(), entry.getValue()))
+                            .toList(),
+                    limit, TOTAL_ORDER);
         }
 
-        return result;
+        List<Long> categoryIds = top.stream().map(CategoryTotalProjection::categoryId).toList();
+        Map<Long, String> names = new HashMap<>();
+        categoryRepository.findByUserEntityIdAndIdIn(userId, categoryIds)
+                .forEach(category -> names.put(category.getId(), category.getName()));
+        List<TopRanking.Ranked> ranked = top.stream()
+                .filter(row -> names.containsKey(row.categoryId()))
+                .map(row -> new TopRanking.Ranked(row.categoryId(), names.get(row.categoryId()), row.total()))
+                .toList();
+        return TopRanking.toReport(totalOf(userId, period, type), ranked);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TopReport getTopDescriptions(Long userId, LocalDate from, LocalDate to, Type type, int limit) {
+        validateDates(from, to);
+        TopRanking.validateLimit(limit);
+
+        List<TopRanking.Ranked> ranked = reportRepository.totalsByDescription(userId, type, from, to, Limit.of(limit))
+                .stream().map(row -> new TopRanking.Ranked(null, row.description(), row.total()))
+                .toList();
+        return TopRanking.toReport(totalOf(userId, new DateRange(from, to), type), ranked);
+    }
+
+    private BigDecimal totalOf(Long userId, DateRange period, Type type) {
+        PeriodSummary summary = summarize(userId, List.of(), List.of(period)).periods().getFirst();
+        return type == Type.INCOME ? summary.income() : summary.expense();
+    }
+
+    // whole months come from one grouped rollup query, the partial months at either end of a period from one
+    // grouped query over the transactions of those days
+    private SummaryBatch summarize(Long userId, List<YearMonth> months, List<DateRange> periods) {
+        Set<LocalDate> monthStarts = new TreeSet<>();
+        List<DateRange> partialRanges = new ArrayList<>();
+        months.forEach(month -> monthStarts.add(month.atDay(1)));
+        for (DateRange period : periods) {
+            YearMonth firstFullMonth = firstFullMonth(period);
+            YearMonth lastFullMonth = lastFullMonth(period);
+            if (firstFullMonth.isAfter(lastFullMonth)) {
+                partialRanges.add(period);
+                continue;
+            }
+            for (YearMonth month = firstFullMonth; !month.isAfter(lastFullMonth); month = month.plusMonths(1)) {
+                monthStarts.add(month.atDay(1));
+            }
+            if (period.from().isBefore(firstFullMonth.atDay(1))) {
+                partialRanges.add(new DateRange(period.from(), firstFullMonth.atDay(1).minusDays(1)));
+            }
+            if (period.to().isAfter(lastFullMonth.atEndOfMonth())) {
+                partialRanges.add(new DateRange(lastFullMonth.plusMonths(1).atDay(1), period.to()));
+            }
+        }
+
+        Map<LocalDate, Totals> byMonth = monthStarts.isEmpty()
+                ? Map.of()
+                : toTotals(monthlyRollupRepository.summaryByMonth(userId, monthStarts));
+        NavigableMap<LocalDate, Totals> byDay = partialRanges.isEmpty()
+                ? new TreeMap<>()
+                : toTotals(reportRepository.dailyTotals(userId, partialRanges));
+
+        List<MonthlySummary> monthlySummaries = months.stream()
+                .map(month -> {
+                    Totals totals = byMonth.getOrDefault(month.atDay(1), Totals.ZERO);
+                    return new MonthlySummary(month, totals.income(), totals.expense(), totals.balance(),
+                            totals.count());
+                })
+                .toList();
+
+        List<PeriodSummary> periodSummaries = new ArrayList<>();
+        for (DateRange period : periods) {
+            Totals totals = Totals.ZERO;
+            YearMonth firstFullMonth = firstFullMonth(period);
+            YearMonth lastFullMonth = lastFullMonth(period);
+            for (YearMonth month = firstFullMonth; !month.isAfter(lastFullMonth); month = month.plusMonths(1)) {
+                totals = totals.plus(byMonth.getOrDefault(month.atDay(1), Totals.ZERO));
+            }
+            for (Map.Entry<LocalDate, Totals> day : byDay.subMap(period.from(), true, period.to(), true).entrySet()) {
+                YearMonth month = YearMonth.from(day.getKey());
+                if (month.isBefore(firstFullMonth) || month.isAfter(lastFullMonth)) {
+                    totals = totals.plus(day.getValue());
+                }
+            }
+            periodSummaries.add(new PeriodSummary(period.from(), period.to(), totals.income(), totals.expense(),
+                    totals.balance(), totals.count()));
+        }
+
+        return new SummaryBatch(monthlySummaries, periodSummaries);
+    }
+
+    private YearMonth firstFullMonth(DateRange period) {
+        YearMonth month = YearMonth.from(period.from());
+        return period.from().getDayOfMonth() == 1 ? month : month.plusMonths(1);
+    }
+
+    private YearMonth lastFullMonth(DateRange period) {
+        YearMonth month = YearMonth.from(period.to());
+        return period.to().equals(month.atEndOfMonth()) ? month : month.minusMonths(1);
+    }
+
+    private NavigableMap<LocalDate, Totals> toTotals(List<SummaryTotalsProjection> projections) {
+        NavigableMap<LocalDate, Totals> totals = new TreeMap<>();
+        for (SummaryTotalsProjection projection : projections) {
+            totals.put(projection.date(), new Totals(projection.income(), projection.expense(), projection.count()));
+        }
+        return totals;
     }
 
     private void validateDates(LocalDate from, LocalDate to) {
@@ -99,4 +287,16 @@ public class ReportServiceImpl implements ReportService {
             throw new ValidationException("Start month is after end month");
         }
     }
+
+    private record Totals(BigDecimal income, BigDecimal expense, long count) {
+        static final Totals ZERO = new Totals(BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(income.add(other.income), expense.add(other.expense), count + other.count);
+        }
+
+        BigDecimal balance() {
+            return income.subtract(expense);
+        }
+    }
 }
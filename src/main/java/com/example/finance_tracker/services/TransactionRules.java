@@ -0,0 +1,28 @@
+package com.example.finance_tracker.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public final class TransactionRules {
+
+    private TransactionRules() {
+    }
+
+    public static Optional<String> amountViolation(BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return Optional.of("Amount of transaction should be positive");
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<String> dateViolation(LocalDate date) {
+        if (date == null) {
+            return Optional.of("Transaction date is mandatory");
+        }
+        if (date.isAfter(LocalDate.now())) {
+            return Optional.of("Setting future dates for transactions is not allowed");
+        }
+        return Optional.empty();
+    }
+}
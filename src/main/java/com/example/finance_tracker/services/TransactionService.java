@@ -2,22 +2,45 @@ package com.example.finance_tracker.services;
 
 import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TransactionPage;
+import com.example.finance_tracker.models.TransactionSearchCriteria;
+import com.example.finance_tracker.models.TransactionView;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     Transaction create(Transaction transaction);
 
+    List<Transaction> createAll(Long userId, List<Transaction> transactions);
+
     Transaction update(Transaction transaction);
 
     void delete(Long transactionId, Long userId);
 
-    List<Transaction> getByUser(Long userId);
+    int deleteByIds(Long userId, Collection<Long> transactionIds);
+
+    int deleteByDateRange(Long userId, LocalDate after, LocalDate before);
+
+    int deleteByCategory(Long userId, Long categoryId);
+
+    TransactionPage getByUser(Long userId, String cursor, int limit);
+
+    TransactionPage getByType(Long userId, Type type, String cursor, int limit);
+
+    TransactionPage getByCategory(Long userId, Long categoryId, String cursor, int limit);
+
+    TransactionPage getByDateRange(Long userId, LocalDate after, LocalDate before, String cursor, int limit);
+
+    TransactionPage search(Long userId, TransactionSearchCriteria criteria, String cursor, int limit, boolean count);
+
+    void streamByUser(Long userId, Consumer<TransactionView> consumer);
 
-    List<Transaction> getByType(Long userId, Type type);
+    void streamByType(Long userId, Type type, Consumer<TransactionView> consumer);
 
-    List<Transaction> getByCategory(Long userId, Long categoryId);
+    void streamByCategory(Long userId, Long categoryId, Consumer<TransactionView> consumer);
 
-    List<Transaction> getByDateRange(Long userId, LocalDate after, LocalDate before);
+    void streamByDateRange(Long userId, LocalDate after, LocalDate before, Consumer<TransactionView> consumer);
 }
@@ -1,32 +1,60 @@
 package com.example.finance_tracker.services;
 
+import com.example.finance_tracker.common.TransactionCursor;
 import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.entities.CategoryEntity;
 import com.example.finance_tracker.entities.TransactionEntity;
 import com.example.finance_tracker.entities.UserEntity;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
 import com.example.finance_tracker.exceptions.ResourceNotFoundException;
 import com.example.finance_tracker.exceptions.ValidationException;
 import com.example.finance_tracker.mappers.TransactionMapper;
+import com.example.finance_tracker.models.MonthlyTotal;
 import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TransactionPage;
+import com.example.finance_tracker.models.TransactionSearchCriteria;
+import com.example.finance_tracker.models.TransactionView;
+import com.example.finance_tracker.projections.LockedMonthlyTotalProjection;
 import com.example.finance_tracker.repositories.CategoryRepository;
 import com.example.finance_tracker.repositories.TransactionRepository;
 import com.example.finance_tracker.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 50_000;
+    private static final int FLUSH_SIZE = 100;
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+    private static final int MAX_SEARCH_TEXT_LENGTH = 255;
+
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final TransactionMapper transactionMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -45,7 +73,37 @@ public class TransactionServiceImpl implements TransactionService {
         transactionEntity.setUserEntity(userEntity);
 
         TransactionEntity savedTransaction = transactionRepository.save(transactionEntity);
-        return transactionMapper.toModel(savedTransaction);
+        Transaction created = transactionMapper.toModel(savedTransaction);
+        eventPublisher.publishEvent(TransactionsChangedEvent.created(transaction.getUserId(), List.of(created)));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Transaction> createAll(Long userId, List<Transaction> transactions) {
+        validateBatch(transactions);
+        Map<Long, CategoryEntity> categories = findCategoriesInDb(transactions, userId);
+        UserEntity userEntity = findUserInDb(userId);
+
+        List<Transaction> created = new ArrayList<>(transactions.size());
+        List<TransactionEntity> pending = new ArrayList<>(FLUSH_SIZE);
+        for (Transaction transaction : transactions) {
+            TransactionEntity transactionEntity = new TransactionEntity();
+            transactionEntity.setType(transaction.getType());
+            transactionEntity.setAmount(transaction.getAmount());
+            transactionEntity.setDate(transaction.getDate());
+            transactionEntity.setDescription(transaction.getDescription());
+            transactionEntity.setCategoryEntity(categories.get(transaction.getCategoryId()));
+            transactionEntity.setUserEntity(userEntity);
+            pending.add(transactionEntity);
+
+            if (pending.size() == FLUSH_SIZE) {
+                created.addAll(flushBatch(pending));
+            }
+        }
+        created.addAll(flushBatch(pending));
+        eventPublisher.publishEvent(TransactionsChangedEvent.created(userId, created));
+        return created;
     }
 
     @Override
@@ -53,6 +111,7 @@ public class TransactionServiceImpl implements TransactionService {
     public Transaction update(Transaction transaction) {
         TransactionEntity transactionEntity = findTransactionInDb(
                 transaction.getId(), transaction.getUserId());
+        Transaction before = transactionMapper.toModel(transactionEntity);
 
         validateAmount(transaction.getAmount());
         validateDate(transaction.getDate());
@@ -67,47 +126,247 @@ public class TransactionServiceImpl implements TransactionService {
         transactionEntity.setDescription(transaction.getDescription());
         transactionEntity.setCategoryEntity(categoryEntity);
 
-        return transactionMapper.toModel(transactionEntity);
+        Transaction updated = transactionMapper.toModel(transactionEntity);
+        eventPublisher.publishEvent(TransactionsChangedEvent.updated(transaction.getUserId(), before, updated));
+        return updated;
     }
 
     @Override
     @Transactional
     public void delete(Long transactionId, Long userId) {
-        if (transactionRepository.existsByIdAndUserEntityId(transactionId, userId)) {
-            transactionRepository.deleteById(transactionId);
-        } else {
+        List<MonthlyTotal> totals = toMonthlyTotals(
+                transactionRepository.lockMonthlyTotalsByUserAndIdIn(userId, List.of(transactionId)));
+        if (totals.isEmpty()) {
             throw new ResourceNotFoundException(
                     "Transaction with id " + transactionId + " was not found for user with id " + userId);
         }
+        transactionRepository.deleteByIdAndUser(transactionId, userId);
+        eventPublisher.publishEvent(TransactionsDeletedEvent.byIds(userId, List.of(transactionId), totals));
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIds(Long userId, Collection<Long> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            throw new ValidationException("At least one transaction id is required");
+        }
+        if (transactionIds.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Cannot delete more than " + MAX_BATCH_SIZE + " transactions by id at once");
+        }
+
+        List<Long> ids = List.copyOf(new TreeSet<>(transactionIds));
+        List<MonthlyTotal> totals = new ArrayList<>();
+        int deleted = 0;
+        // chunked so the IN list stays within a reasonable statement size
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            totals.addAll(toMonthlyTotals(transactionRepository.lockMonthlyTotalsByUserAndIdIn(userId, chunk)));
+            deleted += transactionRepository.deleteByUserAndIdIn(userId, chunk);
+        }
+        eventPublisher.publishEvent(TransactionsDeletedEvent.byIds(userId, ids, totals));
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteByDateRange(Long userId, LocalDate after, LocalDate before) {
+        if (after == null || before == null) {
+            throw new ValidationException("Both start and end date are required");
+        }
+        validateDates(after, before);
+        List<MonthlyTotal> totals = toMonthlyTotals(
+                transactionRepository.lockMonthlyTotalsByUserAndDateRange(userId, after, before));
+        int deleted = transactionRepository.deleteByUserAndDateRange(userId, after, before);
+        eventPublisher.publishEvent(TransactionsDeletedEvent.byDateRange(userId, after, before, totals));
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteByCategory(Long userId, Long categoryId) {
+        List<MonthlyTotal> totals = toMonthlyTotals(
+                transactionRepository.lockMonthlyTotalsByUserAndCategory(userId, categoryId));
+        int deleted = transactionRepository.deleteByUserAndCategory(userId, categoryId);
+        eventPublisher.publishEvent(TransactionsDeletedEvent.byCategory(userId, categoryId, totals));
+        return deleted;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Transaction> getByUser(Long userId) {
-        return transactionRepository.findByUserEntityId(userId).stream()
-                .map(transactionMapper::toModel).toList();
+    public TransactionPage getByUser(Long userId, String cursor, int limit) {
+        Limit fetchLimit = fetchLimit(limit);
+        TransactionCursor after = decodeCursor(cursor);
+        List<TransactionView> views = after == null
+                ? transactionRepository.findFirstPageByUser(userId, fetchLimit)
+                : transactionRepository.findPageByUserAfter(userId, after.date(), after.id(), fetchLimit);
+        return toPage(views, limit, null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Transaction> getByType(Long userId, Type type) {
-        return transactionRepository.findByUserEntityIdAndType(userId, type).stream()
-                .map(transactionMapper::toModel).toList();
+    public TransactionPage getByType(Long userId, Type type, String cursor, int limit) {
+        Limit fetchLimit = fetchLimit(limit);
+        TransactionCursor after = decodeCursor(cursor);
+        List<TransactionView> views = after == null
+                ? transactionRepository.findFirstPageByUserAndType(userId, type, fetchLimit)
+                : transactionRepository.findPageByUserAndTypeAfter(
+                        userId, type, after.date(), after.id(), fetchLimit);
+        return toPage(views, limit, null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Transaction> getByCategory(Long userId, Long categoryId) {
-        return transactionRepository.findByUserEntityIdAndCategoryEntityId(userId, categoryId)
-                .stream().map(transactionMapper::toModel).toList();
+    public TransactionPage getByCategory(Long userId, Long categoryId, String cursor, int limit) {
+        Limit fetchLimit = fetchLimit(limit);
+        TransactionCursor after = decodeCursor(cursor);
+        List<TransactionView> views = after == null
+                ? transactionRepository.findFirstPageByUserAndCategory(userId, categoryId, fetchLimit)
+                : transactionRepository.findPageByUserAndCategoryAfter(
+                        userId, categoryId, after.date(), after.id(), fetchLimit);
+        return toPage(views, limit, null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Transaction> getByDateRange(Long userId, LocalDate after, LocalDate before) {
+    public TransactionPage getByDateRange(Long userId, LocalDate after, LocalDate before, String cursor, int limit) {
         validateDates(after, before);
-        return transactionRepository.findByUserAndDateRange(userId, after, before)
-                .stream().map(transactionMapper::toModel).toList();
+        Limit fetchLimit = fetchLimit(limit);
+        TransactionCursor position = decodeCursor(cursor);
+        List<TransactionView> views = position == null
+                ? transactionRepository.findFirstPageByUserAndDateRange(userId, after, before, fetchLimit)
+                : transactionRepository.findPageByUserAndDateRangeAfter(
+                        userId, after, before, position.date(), position.id(), fetchLimit);
+        return toPage(views, limit, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPage search(Long userId, TransactionSearchCriteria criteria, String cursor, int limit,
+                                  boolean count) {
+        validateCriteria(criteria);
+        Limit fetchLimit = fetchLimit(limit);
+        TransactionCursor after = decodeCursor(cursor);
+        List<TransactionView> views = transactionRepository.search(userId, criteria, after, fetchLimit.max());
+        Long totalCount = count ? transactionRepository.count(userId, criteria) : null;
+        return toPage(views, limit, totalCount);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByUser(Long userId, Consumer<TransactionView> consumer) {
+        try (Stream<TransactionView> views = transactionRepository.streamByUser(userId)) {
+            views.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByType(Long userId, Type type, Consumer<TransactionView> consumer) {
+        try (Stream<TransactionView> views = transactionRepository.streamByUserAndType(userId, type)) {
+            views.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByCategory(Long userId, Long categoryId, Consumer<TransactionView> consumer) {
+        try (Stream<TransactionView> views = transactionRepository.streamByUserAndCategory(userId, categoryId)) {
+            views.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByDateRange(Long userId, LocalDate after, LocalDate before,
+                                  Consumer<TransactionView> consumer) {
+        validateDates(after, before);
+        try (Stream<TransactionView> views =
+                     transactionRepository.streamByUserAndDateRange(userId, after, before)) {
+            views.forEach(consumer);
+        }
+    }
+
+    private List<MonthlyTotal> toMonthlyTotals(List<LockedMonthlyTotalProjection> projections) {
+        return projections.stream()
+                .map(projection -> new MonthlyTotal(projection.getYearMonth(), projection.getType(),
+                        projection.getCategoryId(), projection.getTotal(), projection.getCount()))
+                .toList();
+    }
+
+    private Limit fetchLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size should be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // one extra row tells whether another page exists
+        return Limit.of(limit + 1);
+    }
+
+    private TransactionCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+    }
+
+    private TransactionPage toPage(List<TransactionView> views, int limit, Long totalCount) {
+        boolean hasMore = views.size() > limit;
+        List<TransactionView> items = hasMore ? views.subList(0, limit) : views;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionView last = items.getLast();
+            nextCursor = new TransactionCursor(last.date(), last.id()).encode();
+        }
+        return new TransactionPage(items, nextCursor, totalCount);
+    }
+
+    private void validateBatch(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            throw new ValidationException("Batch should contain at least one transaction");
+        }
+        if (transactions.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch should not contain more than " + MAX_BATCH_SIZE + " transactions");
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            String prefix = "Transaction #" + i + ": ";
+            TransactionRules.amountViolation(transaction.getAmount()).ifPresent(v -> violations.add(prefix + v));
+            TransactionRules.dateViolation(transaction.getDate()).ifPresent(v -> violations.add(prefix + v));
+            if (transaction.getCategoryId() == null) {
+                violations.add(prefix + "Category is mandatory");
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new ValidationException(String.join("; ", violations));
+        }
+    }
+
+    private Map<Long, CategoryEntity> findCategoriesInDb(List<Transaction> transactions, Long userId) {
+        Set<Long> categoryIds = transactions.stream()
+                .map(Transaction::getCategoryId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<Long, CategoryEntity> categories = categoryRepository.findByUserEntityIdAndIdIn(userId, categoryIds)
+                .stream().collect(Collectors.toMap(CategoryEntity::getId, Function.identity()));
+
+        categoryIds.removeAll(categories.keySet());
+        if (!categoryIds.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    "Categories with ids " + categoryIds + " were not found for user with id " + userId);
+        }
+        return categories;
+    }
+
+    // flushing and clearing per JDBC batch keeps the persistence context bounded for large imports
+    private List<Transaction> flushBatch(List<TransactionEntity> pending) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        transactionRepository.saveAll(pending);
+        entityManager.flush();
+        List<Transaction> flushed = pending.stream().map(transactionMapper::toModel).toList();
+        entityManager.clear();
+        pending.clear();
+        return flushed;
     }
 
     private UserEntity findUserInDb(Long userId) {
@@ -122,20 +381,34 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     private TransactionEntity findTransactionInDb(Long transactionId, Long userId) {
-        return transactionRepository.findByIdAndUserEntityId(transactionId, userId)
+        return transactionRepository.findForUpdate(transactionId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Transaction with id " + transactionId + " was not found for user with id " + userId));
     }
 
     private void validateAmount(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ValidationException("Amount of transaction should be positive");
-        }
+        TransactionRules.amountViolation(amount).ifPresent(violation -> {
+            throw new ValidationException(violation);
+        });
     }
 
     private void validateDate(LocalDate date) {
-        if (date.isAfter(LocalDate.now())) {
-            throw new ValidationException("Setting future dates for transactions is not allowed");
+        TransactionRules.dateViolation(date).ifPresent(violation -> {
+            throw new ValidationException(violation);
+        });
+    }
+
+    private void validateCriteria(TransactionSearchCriteria criteria) {
+        if (criteria.from() != null && criteria.to() != null) {
+            validateDates(criteria.from(), criteria.to());
+        }
+        if (criteria.minAmount() != null && criteria.maxAmount() != null
+                && criteria.minAmount().compareTo(criteria.maxAmount()) > 0) {
+            throw new ValidationException("Minimum amount for filtration cannot be greater than maximum amount");
+        }
+        if (criteria.text() != null && criteria.text().length() > MAX_SEARCH_TEXT_LENGTH) {
+            throw new ValidationException(
+                    "Search text length should not exceed " + MAX_SEARCH_TEXT_LENGTH + " characters");
         }
     }
 
@@ -0,0 +1,112 @@
+package com.example.finance_tracker.services.dashboard;
+
+import com.example.finance_tracker.common.Granularity;
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.exceptions.DeadlineExceededException;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.Dashboard;
+import com.example.finance_tracker.models.MonthlySummary;
+import com.example.finance_tracker.models.TransactionView;
+import com.example.finance_tracker.models.TrendPoint;
+import com.example.finance_tracker.services.ReportService;
+import com.example.finance_tracker.services.TransactionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// every part runs in its own read-only transaction; all dashboards together share a budget of pooled connections
+@Service
+public class DashboardService {
+
+    static final int MAX_TREND_MONTHS = 60;
+    static final int MAX_RECENT = 100;
+
+    private final ReportService reportService;
+    private final TransactionService transactionService;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration timeout;
+    private final Semaphore connections;
+
+    public DashboardService(ReportService reportService,
+                            TransactionService transactionService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.dashboard.timeout:5s}") Duration timeout,
+                            @Value("${app.dashboard.max-connections:4}") int maxConnections) {
+        this.reportService = reportService;
+        this.transactionService = transactionService;
+        this.transactionManager = transactionManager;
+        this.timeout = timeout;
+        this.connections = new Semaphore(maxConnections, true);
+    }
+
+    public Dashboard getDashboard(Long userId, YearMonth month, int trendMonths, int recent) {
+        if (trendMonths < 1 || trendMonths > MAX_TREND_MONTHS) {
+            throw new ValidationException("Trend months should be between 1 and " + MAX_TREND_MONTHS);
+        }
+        if (recent < 1 || recent > MAX_RECENT) {
+            throw new ValidationException("Recent transactions should be between 1 and " + MAX_RECENT);
+        }
+        YearMonth trendFrom = month.minusMonths(trendMonths - 1);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (FailFastScope scope = new FailFastScope()) {
+            Supplier<MonthlySummary> summary = scope.fork(beforeDeadline(deadline,
+                    () -> reportService.getMonthlySummary(userId, month)));
+            Supplier<List<CategorySummary>> income = scope.fork(beforeDeadline(deadline,
+                    () -> reportService.getMonthlySummaryByCategory(userId, month, Type.INCOME)));
+            Supplier<List<CategorySummary>> expense = scope.fork(beforeDeadline(deadline,
+                    () -> reportService.getMonthlySummaryByCategory(userId, month, Type.EXPENSE)));
+            Supplier<List<TrendPoint>> trend = scope.fork(beforeDeadline(deadline, () -> reportService.getTrend(
+                    userId, trendFrom.atDay(1), month.atEndOfMonth(), Granularity.MONTH)));
+            Supplier<List<TransactionView>> recentTransactions = scope.fork(beforeDeadline(deadline,
+                    () -> transactionService.getByUser(userId, null, recent).items()));
+
+            scope.join(Duration.ofNanos(deadline - System.nanoTime()));
+            return new Dashboard(summary.get(), income.get(), expense.get(), trend.get(), recentTransactions.get());
+        }
+    }
+
+    /**
+     * Interrupting a part does not cancel a JDBC statement it is blocked in. Each part therefore runs in a read-only
+     * transaction that times out with the deadline, and its queries get the time left as their query timeout. A part
+     * waits for one of the shared connection permits first, so concurrent dashboards cannot drain the pool.
+     */
+    private <T> Callable<T> beforeDeadline(long deadline, Supplier<T> part) {
+        return () -> {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !connections.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                throw deadlineExceeded();
+            }
+            try {
+                remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw deadlineExceeded();
+                }
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+                transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining - 1) + 1));
+                return transaction.execute(status -> part.get());
+            } catch (TransactionTimedOutException | QueryTimeoutException ex) {
+                throw deadlineExceeded();
+            } finally {
+                connections.release();
+            }
+        };
+    }
+
+    private DeadlineExceededException deadlineExceeded() {
+        return new DeadlineExceededException("Request did not finish within " + timeout.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.finance_tracker.services.dashboard;
+
+import com.example.finance_tracker.exceptions.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs each forked task on its own virtual thread and waits for all of them, giving up as soon as one fails or
+ * the deadline passes. Closing the scope interrupts whatever is still running and waits for it to stop, so no
+ * task outlives the request. This is StructuredTaskScope.ShutdownOnFailure, which is still a preview API on 21.
+ */
+final class FailFastScope implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+    // one extra count for join() itself, so tasks finishing while others are still being forked cannot complete it
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    <T> Supplier<T> fork(Callable<T> task) {
+        pending.incrementAndGet();
+        // the result is published before the count drops, so it is visible once join() returns
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                finished.completeExceptionally(e);
+            } finally {
+                countDown();
+            }
+        });
+        return result::join;
+    }
+
+    void join(Duration timeout) {
+        countDown();
+        try {
+            finished.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request did not finish before its deadline");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Request was interrupted");
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+
+    private void countDown() {
+        if (pending.decrementAndGet() == 0) {
+            finished.complete(null);
+        }
+    }
+}
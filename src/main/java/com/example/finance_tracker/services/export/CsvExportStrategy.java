@@ -4,8 +4,13 @@ import com.example.finance_tracker.models.TransactionExportRow;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.Iterator;
 
 @Component
 public class CsvExportStrategy implements ExportStrategy {
@@ -16,37 +21,50 @@ public class CsvExportStrategy implements ExportStrategy {
     }
 
     @Override
-    public ExportFile export(
-            List<TransactionExportRow> transactionRows,
-            TransactionTotals totals
-    ) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("Date,Category,Type,Amount\n");
-
-        for (TransactionExportRow t : transactionRows) {
-            csv.append(t.getDate()).append(",");
-            csv.append(escape(t.getCategoryName())).append(",");
-            csv.append(t.getType()).append(",");
-            csv.append(t.getAmount()).append("\n");
-        }
+    public String getFilename() {
+        return "transactions.csv";
+    }
+
+    @Override
+    public MediaType getContentType() {
+        return MediaType.parseMediaType("text/csv");
+    }
 
-        csv.append("\n");
-        csv.append("Income,,,").append(totals.getIncome()).append("\n");
-        csv.append("Expense,,,").append(totals.getExpense()).append("\n");
-        csv.append("Balance,,,").append(totals.getBalance()).append("\n");
+    @Override
+    public void export(
+            Iterator<TransactionExportRow> transactionRows,
+            TransactionTotals totals,
+            OutputStream out
+    ) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write("Date,Category,Type,Amount\n");
+
+        while (transactionRows.hasNext()) {
+            TransactionExportRow t = transactionRows.next();
+            csv.write(t.getDate().toString());
+            csv.write(",");
+            csv.write(escape(t.getCategoryName()));
+            csv.write(",");
+            csv.write(t.getType().name());
+            csv.write(",");
+            csv.write(t.getAmount().toPlainString());
+            csv.write("\n");
+        }
 
-        return new ExportFile(
-                csv.toString().getBytes(StandardCharsets.UTF_8),
-                "transactions.csv",
-                MediaType.parseMediaType("text/csv")
-        );
+        csv.write("\n");
+        csv.write("Income,,," + totals.getIncome().toPlainString() + "\n");
+        csv.write("Expense,,," + totals.getExpense().toPlainString() + "\n");
+        csv.write("Balance,,," + totals.getBalance().toPlainString() + "\n");
+        csv.flush();
     }
 
     private String escape(String value) {
-        if (value.contains(",") || value.contains("\"")) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
             return "\"" + value.replace("\"", "\"\"") + "\"";
         }
         return value;
     }
 }
-
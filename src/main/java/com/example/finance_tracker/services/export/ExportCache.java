@@ -0,0 +1,207 @@
+package com.example.finance_tracker.services.export;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Keeps rendered exports on local disk. A miss renders to the client and to a cache file at the same time, so caching
+ * does not delay the first byte; a hit copies the file. Entries are weighed by their size in bytes.
+ */
+@Component
+public class ExportCache {
+
+    static final String CACHE_NAME = "exports";
+    private static final String FILE_SUFFIX = ".cache";
+
+    private final Path cacheDir;
+    private final long maxEntryBytes;
+    private final Cache<ExportCacheKey, CachedExport> cache;
+
+    public ExportCache(@Value("${app.export.cache.dir:${java.io.tmpdir}/finance-tracker-export-cache}") Path cacheDir,
+                       @Value("${app.export.cache.max-size:512MB}") DataSize maxSize,
+                       MeterRegistry meterRegistry) {
+        this.cacheDir = cacheDir;
+        // a single export may take a quarter of the cache, so one large file cannot flush everything else
+        this.maxEntryBytes = Math.min(maxSize.toBytes() / 4, Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((ExportCacheKey key, CachedExport value) -> (int) value.size())
+                .removalListener((ExportCacheKey key, CachedExport value, RemovalCause cause) -> {
+                    if (value != null) {
+                        deleteQuietly(value.path());
+                    }
+                })
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        clear();
+    }
+
+    void write(ExportCacheKey key, ExportWriter renderer, OutputStream out) throws IOException {
+        CachedExport cached = cache.getIfPresent(key);
+        if (cached != null) {
+            try (InputStream in = Files.newInputStream(cached.path())) {
+                in.transferTo(out);
+                return;
+            } catch (NoSuchFileException evicted) {
+                // removed between the lookup and the open, render it again
+            }
+        }
+
+        Path file = null;
+        OutputStream fileOut;
+        try {
+            file = Files.createTempFile(cacheDir, "export-", FILE_SUFFIX);
+            fileOut = new BufferedOutputStream(Files.newOutputStream(file));
+        } catch (IOException ex) {
+            // a cache directory that cannot be written to only costs the cache entry
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            renderer.writeTo(out);
+            return;
+        }
+        CachingOutputStream tee = new CachingOutputStream(out, fileOut, maxEntryBytes);
+        boolean stored = false;
+        try {
+            renderer.writeTo(tee);
+            if (tee.finish()) {
+                // older versions of the user's exports can never be hit again
+                cache.asMap().keySet().removeIf(other ->
+                        other.userId().equals(key.userId()) && other.ledgerVersion() < key.ledgerVersion());
+                cache.put(key, new CachedExport(file, tee.written));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                tee.abandon();
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private void clear() {
+        try {
+            Files.createDirectories(cacheDir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare export cache directory " + cacheDir, ex);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the next startup clears whatever is left in the cache directory
+        }
+    }
+
+    private record CachedExport(Path path, long size) {
+    }
+
+    // writes everything to the client and copies it to the cache file until the entry grows past its limit or the
+    // file cannot be written; either way the client still gets the whole export
+    static final class CachingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final long limit;
+        private OutputStream file;
+        private long written;
+        private boolean abandoned;
+
+        CachingOutputStream(OutputStream out, OutputStream file, long limit) {
+            this.out = out;
+            this.file = file;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (reserve(1)) {
+                try {
+                    file.write(b);
+                } catch (IOException ex) {
+                    abandon();
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (reserve(len)) {
+                try {
+                    file.write(b, off, len);
+                } catch (IOException ex) {
+                    abandon();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        // closes the cache file and tells whether it holds the whole export
+        boolean finish() {
+            if (abandoned) {
+                return false;
+            }
+            try {
+                file.close();
+                file = null;
+                return true;
+            } catch (IOException ex) {
+                abandon();
+                return false;
+            }
+        }
+
+        void abandon() {
+            abandoned = true;
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException ignored) {
+                    // the file is deleted without being cached
+                }
+                file = null;
+            }
+        }
+
+        private boolean reserve(int len) {
+            if (abandoned) {
+                return false;
+            }
+            if (written + len > limit) {
+                abandon();
+                return false;
+            }
+            written += len;
+            return true;
+        }
+    }
+}
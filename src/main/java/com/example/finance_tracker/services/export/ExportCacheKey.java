@@ -0,0 +1,17 @@
+package com.example.finance_tracker.services.export;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies one rendered export. Every committed transaction or category write bumps the user's ledger version, so
+ * an entry can only be found again while the data it was rendered from is unchanged.
+ */
+record ExportCacheKey(
+        Long userId,
+        ExportFormat format,
+        ExportCompression compression,
+        LocalDate startDate,
+        LocalDate endDate,
+        long ledgerVersion
+) {
+}
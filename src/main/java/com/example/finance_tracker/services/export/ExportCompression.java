@@ -0,0 +1,119 @@
+package com.example.finance_tracker.services.export;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+public enum ExportCompression {
+    NONE(null, "", null),
+    GZIP("gzip", ".gz", MediaType.parseMediaType("application/gzip")),
+    ZSTD("zstd", ".zst", MediaType.parseMediaType("application/zstd"));
+
+    // preferred first when a client accepts several codings equally
+    private static final List<ExportCompression> PREFERENCE = List.of(ZSTD, GZIP);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String encoding;
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportCompression(String encoding, String extension, MediaType mediaType) {
+        this.encoding = encoding;
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // zstd needs its native library, which is not built for every platform
+    public boolean isAvailable() {
+        return this != ZSTD || ZstdLibrary.LOADED;
+    }
+
+    /**
+     * Wraps {@code out} so that what is written to the result is compressed on the fly. Closing the result finishes
+     * the compressed stream but leaves {@code out} open.
+     */
+    OutputStream wrap(OutputStream out) throws IOException {
+        OutputStream target = StreamUtils.nonClosing(out);
+        return switch (this) {
+            case NONE -> target;
+            case GZIP -> new GZIPOutputStream(target, BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(target);
+        };
+    }
+
+    /**
+     * Picks the coding with the highest quality in an {@code Accept-Encoding} header among those available here, or
+     * {@link #NONE} when the client accepts none of them.
+     */
+    public static ExportCompression negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return NONE;
+        }
+
+        Map<String, Double> qualities = new HashMap<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    quality = parseQuality(param.substring(2));
+                }
+            }
+            qualities.put(params[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+
+        ExportCompression best = NONE;
+        double bestQuality = 0;
+        for (ExportCompression compression : PREFERENCE) {
+            double quality = qualities.getOrDefault(compression.encoding, qualities.getOrDefault("*", 0.0));
+            if (compression.isAvailable() && quality > bestQuality) {
+                best = compression;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static final class ZstdLibrary {
+        static final boolean LOADED = load();
+
+        private static boolean load() {
+            try {
+                Native.load();
+                return true;
+            } catch (LinkageError | RuntimeException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -3,5 +3,17 @@ package com.example.finance_tracker.services.export;
 import org.springframework.http.MediaType;
 
 
-public record ExportFile(byte[] content, String filename, MediaType contentType) {
+/**
+ * {@code filename} and {@code contentType} describe the export itself; {@code content} writes it encoded with
+ * {@code compression}. Stored as a file, the export is named and typed after the compression instead.
+ */
+public record ExportFile(ExportWriter content, String filename, MediaType contentType, ExportCompression compression) {
+
+    public String artifactFilename() {
+        return filename + compression.getExtension();
+    }
+
+    public MediaType artifactContentType() {
+        return compression == ExportCompression.NONE ? contentType : compression.getMediaType();
+    }
 }
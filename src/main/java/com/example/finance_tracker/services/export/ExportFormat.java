@@ -2,5 +2,6 @@ package com.example.finance_tracker.services.export;
 
 public enum ExportFormat {
     PDF,
-    CSV
+    CSV,
+    NDJSON
 }
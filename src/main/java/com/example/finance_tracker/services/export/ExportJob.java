@@ -0,0 +1,19 @@
+package com.example.finance_tracker.services.export;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ExportJob(
+        UUID id,
+        ExportFormat format,
+        ExportCompression compression,
+        LocalDate startDate,
+        LocalDate endDate,
+        ExportJobStatus status,
+        Instant createdAt,
+        Instant completedAt,
+        Long size,
+        String error
+) {
+}
@@ -0,0 +1,270 @@
+package com.example.finance_tracker.services.export;
+
+import com.example.finance_tracker.exceptions.ConflictException;
+import com.example.finance_tracker.exceptions.ResourceNotFoundException;
+import com.example.finance_tracker.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs exports in the background and keeps their output in a spool directory until it is downloaded, removed or
+ * expires. Jobs live in memory only, so the spool is cleared on startup.
+ */
+@Service
+public class ExportJobService implements AutoCloseable {
+
+    private static final String SPOOL_SUFFIX = ".export";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final ExportService exportService;
+    private final Path spoolDir;
+    private final long maxSpoolBytes;
+    private final int maxJobsPerUser;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor();
+
+    private final Map<UUID, SpooledExport> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeJobs = new HashMap<>();
+
+    public ExportJobService(ExportService exportService,
+                            @Value("${app.export.spool.dir:${java.io.tmpdir}/finance-tracker-exports}") Path spoolDir,
+                            @Value("${app.export.spool.max-size:2GB}") DataSize maxSpoolSize,
+                            @Value("${app.export.jobs.threads:2}") int threads,
+                            @Value("${app.export.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${app.export.jobs.max-per-user:2}") int maxJobsPerUser,
+                            @Value("${app.export.jobs.ttl:1h}") Duration ttl) {
+        this.exportService = exportService;
+        this.spoolDir = spoolDir;
+        this.maxSpoolBytes = maxSpoolSize.toBytes();
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.ttl = ttl;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        clearSpool();
+        sweeper.scheduleWithFixedDelay(this::removeExpired,
+                SWEEP_INTERVAL.toMillis(), SWEEP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public ExportJob submit(Long userId, ExportFormat format, ExportCompression compression,
+                            LocalDate start, LocalDate end) {
+        // resolves the format and checks the range before anything is queued
+        ExportFile file = exportService.export(userId, format, compression, start, end);
+        SpooledExport job = new SpooledExport(UUID.randomUUID(), userId, format, compression, start, end,
+                file.artifactFilename(), file.artifactContentType(), Instant.now());
+
+        acquireSlot(userId);
+        jobs.put(job.id, job);
+        try {
+            job.setTask(executor.submit(() -> run(job, file)));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id);
+            releaseSlot(userId);
+            throw new TooManyRequestsException("Too many exports are queued, try again later");
+        }
+        return job.toModel();
+    }
+
+    public List<ExportJob> getByUser(Long userId) {
+        return jobs.values().stream()
+                .filter(job -> job.userId.equals(userId))
+                .sorted(Comparator.comparing((SpooledExport job) -> job.createdAt).reversed())
+                .map(SpooledExport::toModel)
+                .toList();
+    }
+
+    public ExportJob get(Long userId, UUID id) {
+        return find(userId, id).toModel();
+    }
+
+    public SpooledFile getFile(Long userId, UUID id) {
+        SpooledExport job = find(userId, id);
+        if (job.status() != ExportJobStatus.COMPLETED) {
+            throw new ConflictException("Export job is " + job.status().name().toLowerCase());
+        }
+        return new SpooledFile(job.path(), job.filename, job.contentType);
+    }
+
+    public void delete(Long userId, UUID id) {
+        SpooledExport job = find(userId, id);
+        remove(job);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void run(SpooledExport job, ExportFile file) {
+        if (!job.start()) {
+            releaseSlot(job.userId);
+            return;
+        }
+        Path partial = spoolDir.resolve(job.id + PARTIAL_SUFFIX);
+        Path target = spoolDir.resolve(job.id + SPOOL_SUFFIX);
+        String error = null;
+        LimitedOutputStream limited = null;
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                limited = new LimitedOutputStream(out, maxSpoolBytes);
+                file.content().writeTo(limited);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ex) {
+            // writers such as the PDF renderer wrap the IOException, so the stream remembers why it stopped
+            error = limited != null && limited.exceeded ? "Export exceeds the spool size limit" : "Export failed";
+        }
+        long size = limited == null ? 0 : limited.written;
+
+        // the slot is freed before the status changes, so a client that sees the job finish can submit another
+        releaseSlot(job.userId);
+        if (error != null) {
+            deleteQuietly(partial);
+            job.fail(error, Instant.now());
+        } else if (!store(job, target, size)) {
+            deleteQuietly(target);
+        }
+    }
+
+    private SpooledExport find(Long userId, UUID id) {
+        SpooledExport job = jobs.get(id);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Export job not found");
+        }
+        return job;
+    }
+
+    private synchronized void acquireSlot(Long userId) {
+        int active = activeJobs.getOrDefault(userId, 0);
+        if (active >= maxJobsPerUser) {
+            throw new TooManyRequestsException("At most " + maxJobsPerUser + " exports can run at a time");
+        }
+        activeJobs.put(userId, active + 1);
+    }
+
+    private synchronized void releaseSlot(Long userId) {
+        activeJobs.computeIfPresent(userId, (id, active) -> active > 1 ? active - 1 : null);
+    }
+
+    // evicts the oldest finished files until the new one fits the spool quota, then publishes it
+    private synchronized boolean store(SpooledExport job, Path target, long size) {
+        List<SpooledExport> completed = jobs.values().stream()
+                .filter(other -> other.status() == ExportJobStatus.COMPLETED)
+                .sorted(Comparator.comparing(SpooledExport::completedAt))
+                .toList();
+        long used = size + completed.stream().mapToLong(SpooledExport::size).sum();
+        for (SpooledExport oldest : completed) {
+            if (used <= maxSpoolBytes) {
+                break;
+            }
+            used -= oldest.size();
+            remove(oldest);
+        }
+        return job.complete(target, size, Instant.now());
+    }
+
+    private void removeExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        for (SpooledExport job : jobs.values()) {
+            Instant completedAt = job.completedAt();
+            if (completedAt != null && completedAt.isBefore(cutoff)) {
+                remove(job);
+            }
+        }
+    }
+
+    private void remove(SpooledExport job) {
+        jobs.remove(job.id);
+        Path path = job.remove();
+        if (path != null) {
+            deleteQuietly(path);
+        }
+    }
+
+    private void clearSpool() {
+        try {
+            Files.createDirectories(spoolDir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir,
+                    "*{" + SPOOL_SUFFIX + "," + PARTIAL_SUFFIX + "}")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare export spool directory " + spoolDir, ex);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the next startup clears whatever is left in the spool
+        }
+    }
+
+    // counts what the export writes and stops it as soon as it would no longer fit the spool
+    private static final class LimitedOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final long limit;
+        private long written;
+        private boolean exceeded;
+
+        LimitedOutputStream(OutputStream out, long limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            reserve(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            reserve(len);
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        private void reserve(int len) throws IOException {
+            if (written + len > limit) {
+                exceeded = true;
+                throw new IOException("Export exceeds the spool size limit");
+            }
+            written += len;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.finance_tracker.services.export;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -3,10 +3,13 @@ package com.example.finance_tracker.services.export;
 import com.example.finance_tracker.models.TransactionExportRow;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class ExportProcessor {
@@ -21,20 +24,22 @@ public class ExportProcessor {
                 ));
     }
 
-    public ExportFile export(
-            ExportFormat format,
-            List<TransactionExportRow> transactionRows
-    ) {
-        TransactionTotals totals = new TransactionTotals();
-        transactionRows.forEach(totals::add);
-
+    public ExportStrategy getStrategy(ExportFormat format) {
         ExportStrategy strategy = strategies.get(format);
 
         if (strategy == null) {
             throw new IllegalArgumentException("Unsupported format: " + format);
         }
 
-        return strategy.export(transactionRows, totals);
+        return strategy;
     }
-}
 
+    public void export(
+            ExportStrategy strategy,
+            Stream<TransactionExportRow> transactionRows,
+            OutputStream out
+    ) throws IOException {
+        TransactionTotals totals = new TransactionTotals();
+        strategy.export(transactionRows.peek(totals::add).iterator(), totals, out);
+    }
+}
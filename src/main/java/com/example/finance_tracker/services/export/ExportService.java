@@ -1,37 +1,116 @@
 package com.example.finance_tracker.services.export;
 
-import com.example.finance_tracker.entities.TransactionEntity;
+import com.example.finance_tracker.exceptions.ValidationException;
 import com.example.finance_tracker.models.TransactionExportRow;
 import com.example.finance_tracker.repositories.TransactionRepository;
-import lombok.AllArgsConstructor;
+import com.example.finance_tracker.services.LedgerVersionService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.stream.Stream;
 
 @Service
-@AllArgsConstructor
 public class ExportService {
 
+    // an open side of the range is closed at the limits of the MySQL DATE type
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
     private final TransactionRepository transactionRepository;
     private final ExportProcessor exportProcessor;
+    private final LedgerVersionService ledgerVersionService;
+    private final ExportCache exportCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(TransactionRepository transactionRepository,
+                         ExportProcessor exportProcessor,
+                         LedgerVersionService ledgerVersionService,
+                         ExportCache exportCache,
+                         PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.exportProcessor = exportProcessor;
+        this.ledgerVersionService = ledgerVersionService;
+        this.exportCache = exportCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
+    /**
+     * Resolves the format and checks the range up front; the returned file reads the rows through a database cursor
+     * only when it is written, so the response is streamed without holding the export in memory. An export of an
+     * unchanged ledger is served from {@link ExportCache} instead.
+     */
     public ExportFile export(
             Long userId,
             ExportFormat format,
+            ExportCompression compression,
             LocalDate start,
             LocalDate end
     ) {
-        List<TransactionEntity> transactions = transactionRepository.findByUserAndDateRange(userId, start, end);
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new ValidationException("Start date for export cannot be after end date");
+        }
+        ExportStrategy strategy = exportProcessor.getStrategy(format);
+        if (compression != ExportCompression.NONE && !strategy.isCompressible()) {
+            throw new ValidationException(format + " exports cannot be compressed");
+        }
+        if (!compression.isAvailable()) {
+            throw new ValidationException(compression + " compression is not available");
+        }
+
+        return new ExportFile(
+                out -> writeCached(userId, format, compression, strategy, start, end, out),
+                strategy.getFilename(),
+                strategy.getContentType(),
+                compression
+        );
+    }
 
-        List<TransactionExportRow> transactionRows = transactions.stream().map(
-                        t -> new TransactionExportRow(
-                                t.getDate(),
-                                t.getCategoryEntity().getName(),
-                                t.getType(),
-                                t.getAmount()))
-                .toList();
+    public ExportCompression negotiate(ExportFormat format, String acceptEncoding) {
+        if (!exportProcessor.getStrategy(format).isCompressible()) {
+            return ExportCompression.NONE;
+        }
+        return ExportCompression.negotiate(acceptEncoding);
+    }
+
+    // the version is read before the rows, so an entry never holds data older than its key claims
+    // the compressed bytes are what gets cached, so a hit is copied without compressing again
+    private void writeCached(Long userId, ExportFormat format, ExportCompression compression, ExportStrategy strategy,
+                             LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        ExportCacheKey key = new ExportCacheKey(userId, format, compression, start, end,
+                ledgerVersionService.getVersion(userId));
+        exportCache.write(key, cacheOut -> {
+            try (OutputStream encoded = compression.wrap(cacheOut)) {
+                write(userId, strategy, start, end, encoded);
+            }
+        }, out);
+    }
+
+    private void write(Long userId, ExportStrategy strategy, LocalDate start, LocalDate end, OutputStream out)
+            throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionExportRow> rows = streamRows(userId, start, end)) {
+                    exportProcessor.export(strategy, rows, out);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
 
-        return exportProcessor.export(format, transactionRows);
+    private Stream<TransactionExportRow> streamRows(Long userId, LocalDate start, LocalDate end) {
+        if (start == null && end == null) {
+            return transactionRepository.streamExportRows(userId);
+        }
+        return transactionRepository.streamExportRowsBetween(userId,
+                start != null ? start : EARLIEST_DATE, end != null ? end : LATEST_DATE);
     }
 }
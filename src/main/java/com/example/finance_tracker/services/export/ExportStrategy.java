@@ -1,11 +1,28 @@
 package com.example.finance_tracker.services.export;
 
 import com.example.finance_tracker.models.TransactionExportRow;
+import org.springframework.http.MediaType;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 public interface ExportStrategy {
     ExportFormat getFormat();
 
-    ExportFile export(List<TransactionExportRow> transactionRows, TransactionTotals totals);
+    String getFilename();
+
+    MediaType getContentType();
+
+    // formats that compress their own content gain nothing from another layer
+    default boolean isCompressible() {
+        return true;
+    }
+
+    /**
+     * Writes the rows as they are read. {@code totals} grows with every row taken from {@code transactionRows}, so it
+     * is complete once the iterator is exhausted.
+     */
+    void export(Iterator<TransactionExportRow> transactionRows, TransactionTotals totals, OutputStream out)
+            throws IOException;
 }
@@ -0,0 +1,9 @@
+package com.example.finance_tracker.services.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface ExportWriter {
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,57 @@
+package com.example.finance_tracker.services.export;
+
+import com.example.finance_tracker.models.TransactionExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class NdjsonExportStrategy implements ExportStrategy {
+
+    private final JsonMapper jsonMapper;
+
+    @Override
+    public ExportFormat getFormat() {
+        return ExportFormat.NDJSON;
+    }
+
+    @Override
+    public String getFilename() {
+        return "transactions.ndjson";
+    }
+
+    @Override
+    public MediaType getContentType() {
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    @Override
+    public void export(
+            Iterator<TransactionExportRow> transactionRows,
+            TransactionTotals totals,
+            OutputStream out
+    ) throws IOException {
+        OutputStream ndjson = new BufferedOutputStream(out);
+
+        while (transactionRows.hasNext()) {
+            writeLine(ndjson, transactionRows.next());
+        }
+
+        // the last line carries the totals, so a reader can tell a complete export from a cut off one
+        writeLine(ndjson, Map.of("totals", totals));
+        ndjson.flush();
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(jsonMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
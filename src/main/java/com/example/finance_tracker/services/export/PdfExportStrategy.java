@@ -10,44 +10,76 @@ import org.openpdf.text.pdf.PdfWriter;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 @Component
 public class PdfExportStrategy implements ExportStrategy {
 
+    // about five pages; the table is flushed to the document every time this many rows have been added
+    static final int CHUNK_ROWS = 200;
+
     @Override
     public ExportFormat getFormat() {
         return ExportFormat.PDF;
     }
 
     @Override
-    public ExportFile export(
-            List<TransactionExportRow> transactionRows,
-            TransactionTotals totals
-    ) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    public String getFilename() {
+        return "transactions.pdf";
+    }
+
+    @Override
+    public MediaType getContentType() {
+        return MediaType.APPLICATION_PDF;
+    }
 
+    @Override
+    public boolean isCompressible() {
+        return false;
+    }
+
+    @Override
+    public void export(
+            Iterator<TransactionExportRow> transactionRows,
+            TransactionTotals totals,
+            OutputStream out
+    ) throws IOException {
         try (Document document = new Document()) {
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             document.add(new Paragraph("Transactions Report"));
             document.add(new Paragraph(" "));
 
+            // an incomplete table is written page by page: each add lays out the rows held so far, writes the
+            // finished pages and drops those rows, keeping only the header that is repeated on every page
             PdfPTable table = new PdfPTable(4);
+            table.setComplete(false);
+            table.setHeaderRows(1);
             table.addCell("Date");
             table.addCell("Category");
             table.addCell("Type");
             table.addCell("Amount");
 
-            for (TransactionExportRow r : transactionRows) {
+            int pending = 0;
+            while (transactionRows.hasNext()) {
+                TransactionExportRow r = transactionRows.next();
                 table.addCell(r.getDate().toString());
-                table.addCell(r.getCategoryName());
+                table.addCell(r.getCategoryName() == null ? "" : r.getCategoryName());
                 table.addCell(r.getType().name());
                 table.addCell(r.getAmount().toString());
+
+                if (++pending == CHUNK_ROWS) {
+                    document.add(table);
+                    out.flush();
+                    pending = 0;
+                }
             }
 
+            table.setComplete(true);
             document.add(table);
             document.add(new Paragraph(" "));
 
@@ -58,11 +90,5 @@ public class PdfExportStrategy implements ExportStrategy {
         } catch (DocumentException e) {
             throw new ExportException("Failed to generate PDF export", e);
         }
-
-        return new ExportFile(
-                out.toByteArray(),
-                "transactions.pdf",
-                MediaType.APPLICATION_PDF
-        );
     }
 }
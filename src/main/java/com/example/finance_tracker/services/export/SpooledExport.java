@@ -0,0 +1,106 @@
+package com.example.finance_tracker.services.export;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+/**
+ * The state of one export job. Status changes are synchronized so that a job removed while it runs is never marked
+ * complete afterwards.
+ */
+final class SpooledExport {
+    final UUID id;
+    final Long userId;
+    final ExportFormat format;
+    final ExportCompression compression;
+    final LocalDate startDate;
+    final LocalDate endDate;
+    final String filename;
+    final MediaType contentType;
+    final Instant createdAt;
+
+    private ExportJobStatus status = ExportJobStatus.QUEUED;
+    private boolean removed;
+    private Instant completedAt;
+    private Path path;
+    private long size;
+    private String error;
+    private Future<?> task;
+
+    SpooledExport(UUID id, Long userId, ExportFormat format, ExportCompression compression, LocalDate startDate,
+                  LocalDate endDate, String filename, MediaType contentType, Instant createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.format = format;
+        this.compression = compression;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.createdAt = createdAt;
+    }
+
+    synchronized void setTask(Future<?> task) {
+        this.task = task;
+    }
+
+    synchronized boolean start() {
+        if (removed) {
+            return false;
+        }
+        status = ExportJobStatus.RUNNING;
+        return true;
+    }
+
+    synchronized boolean complete(Path path, long size, Instant now) {
+        if (removed) {
+            return false;
+        }
+        this.status = ExportJobStatus.COMPLETED;
+        this.path = path;
+        this.size = size;
+        this.completedAt = now;
+        return true;
+    }
+
+    synchronized void fail(String error, Instant now) {
+        this.status = ExportJobStatus.FAILED;
+        this.error = error;
+        this.completedAt = now;
+    }
+
+    // returns the spooled file, if any, so the caller can delete it; a queued job is left to find itself removed
+    // when it starts, so the run still ends and releases the user's slot
+    synchronized Path remove() {
+        removed = true;
+        if (status == ExportJobStatus.RUNNING && task != null) {
+            task.cancel(true);
+        }
+        return path;
+    }
+
+    synchronized ExportJobStatus status() {
+        return status;
+    }
+
+    synchronized Instant completedAt() {
+        return completedAt;
+    }
+
+    synchronized Path path() {
+        return path;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    synchronized ExportJob toModel() {
+        return new ExportJob(id, format, compression, startDate, endDate, status, createdAt, completedAt,
+                status == ExportJobStatus.COMPLETED ? size : null, error);
+    }
+}
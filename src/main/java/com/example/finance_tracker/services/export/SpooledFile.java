@@ -0,0 +1,8 @@
+package com.example.finance_tracker.services.export;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+public record SpooledFile(Path path, String filename, MediaType contentType) {
+}
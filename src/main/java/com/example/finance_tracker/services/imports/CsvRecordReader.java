@@ -0,0 +1,113 @@
+package com.example.finance_tracker.services.imports;
+
+import com.example.finance_tracker.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+class CsvRecordReader {
+
+    static final int MAX_FIELD_LENGTH = 1024;
+    static final int MAX_FIELDS = 32;
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private int pending = -2;
+    private long line = 1;
+    private boolean started;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    long currentLine() {
+        return line;
+    }
+
+    // a record over the limits fails the import: the rest of the stream cannot be trusted to resynchronise
+    List<String> next() throws IOException {
+        int c = read();
+        // spreadsheet exports often start with a byte order mark, which would otherwise stick to the first column
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        long recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"', recordLine);
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, c, recordLine);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                if (fields.size() + 1 == MAX_FIELDS) {
+                    throw new ValidationException("Line " + recordLine + " has more than " + MAX_FIELDS + " fields");
+                }
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, c, recordLine);
+            }
+            c = read();
+        }
+    }
+
+    private static void append(StringBuilder field, int c, long recordLine) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new ValidationException(
+                    "Line " + recordLine + " has a field longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
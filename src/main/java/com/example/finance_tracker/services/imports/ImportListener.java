@@ -0,0 +1,7 @@
+package com.example.finance_tracker.services.imports;
+
+public interface ImportListener {
+    void onError(ImportError error);
+
+    void onProgress(ImportProgress progress);
+}
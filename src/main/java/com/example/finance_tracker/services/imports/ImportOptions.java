@@ -0,0 +1,6 @@
+package com.example.finance_tracker.services.imports;
+
+import java.time.format.DateTimeFormatter;
+
+public record ImportOptions(Long defaultCategoryId, DateTimeFormatter dateFormat) {
+}
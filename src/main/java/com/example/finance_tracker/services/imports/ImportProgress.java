@@ -0,0 +1,4 @@
+package com.example.finance_tracker.services.imports;
+
+public record ImportProgress(long linesRead, long imported, long failed) {
+}
@@ -0,0 +1,253 @@
+package com.example.finance_tracker.services.imports;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.CategoryEntity;
+import com.example.finance_tracker.exceptions.ResourceNotFoundException;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.repositories.CategoryRepository;
+import com.example.finance_tracker.services.TransactionRules;
+import com.example.finance_tracker.services.TransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    static final int BATCH_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Pattern AMOUNT = Pattern.compile("[-+]?\\d+(\\.\\d+)?");
+
+    private final TransactionService transactionService;
+    private final CategoryRepository categoryRepository;
+
+    public ImportProgress importCsv(Long userId, InputStream csv, ImportOptions options, ImportListener listener) {
+        Map<String, Long> categoriesByName = findCategoriesByName(userId, options.defaultCategoryId());
+
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        try {
+            Columns columns = Columns.of(reader.next());
+
+            long linesRead = 0;
+            long imported = 0;
+            long failed = 0;
+            List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+            long batchFirstLine = 0;
+            long batchLastLine = 0;
+
+            while (true) {
+                long line = reader.currentLine();
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (ValidationException ex) {
+                    // once events were streamed the response is committed, so the failure is reported as one
+                    if (imported + failed == 0) {
+                        throw ex;
+                    }
+                    linesRead++;
+                    failed++;
+                    listener.onError(new ImportError(line, ex.getMessage()));
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (record.size() == 1 && record.getFirst().isBlank()) {
+                    continue;
+                }
+                linesRead++;
+
+                Transaction transaction = new Transaction();
+                Optional<String> violation = columns.fill(transaction, record, categoriesByName, options);
+                if (violation.isPresent()) {
+                    failed++;
+                    if (failed <= MAX_REPORTED_ERRORS) {
+                        listener.onError(new ImportError(line, violation.get()));
+                    }
+                    continue;
+                }
+
+                if (batch.isEmpty()) {
+                    batchFirstLine = line;
+                }
+                batchLastLine = line;
+                batch.add(transaction);
+
+                if (batch.size() == BATCH_SIZE) {
+                    long written = flush(userId, batch, batchFirstLine, line, listener);
+                    imported += written;
+                    failed += BATCH_SIZE - written;
+                    listener.onProgress(new ImportProgress(linesRead, imported, failed));
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                int size = batch.size();
+                long written = flush(userId, batch, batchFirstLine, batchLastLine, listener);
+                imported += written;
+                failed += size - written;
+            }
+            return new ImportProgress(linesRead, imported, failed);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // every batch is committed in its own transaction, so a failure only loses the rows of that batch
+    private long flush(Long userId, List<Transaction> batch, long firstLine, long lastLine, ImportListener listener) {
+        try {
+            return transactionService.createAll(userId, batch).size();
+        } catch (ValidationException | ResourceNotFoundException ex) {
+            listener.onError(new ImportError(firstLine,
+                    "Lines " + firstLine + "-" + lastLine + " were not imported: " + ex.getMessage()));
+            return 0;
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private Map<String, Long> findCategoriesByName(Long userId, Long defaultCategoryId) {
+        Map<String, Long> categoriesByName = new HashMap<>();
+        boolean defaultFound = defaultCategoryId == null;
+        for (CategoryEntity category : categoryRepository.findByUserEntityId(userId)) {
+            categoriesByName.putIfAbsent(normalize(category.getName()), category.getId());
+            defaultFound |= category.getId().equals(defaultCategoryId);
+        }
+        if (!defaultFound) {
+            throw new ResourceNotFoundException(
+                    "Category with id " + defaultCategoryId + " was not found for user with id " + userId);
+        }
+        return categoriesByName;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Columns(int date, int type, int amount, int description, int category) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new ValidationException("CSV file is empty");
+            }
+            List<String> names = header.stream().map(TransactionImportService::normalize).toList();
+            Columns columns = new Columns(names.indexOf("date"), names.indexOf("type"), names.indexOf("amount"),
+                    names.indexOf("description"), names.indexOf("category"));
+            if (columns.date < 0 || columns.amount < 0) {
+                throw new ValidationException("CSV header must contain 'date' and 'amount' columns");
+            }
+            return columns;
+        }
+
+        Optional<String> fill(Transaction transaction, List<String> record, Map<String, Long> categoriesByName,
+                              ImportOptions options) {
+            String amountText = value(record, amount).replace(" ", "");
+            if (!AMOUNT.matcher(amountText).matches()) {
+                return Optional.of("Amount '" + amountText + "' is not a number");
+            }
+            BigDecimal parsedAmount = new BigDecimal(amountText);
+            if (parsedAmount.stripTrailingZeros().scale() > 2) {
+                return Optional.of("Amount '" + amountText + "' has more than 2 decimal places");
+            }
+
+            Type parsedType;
+            if (type >= 0) {
+                parsedType = parseType(value(record, type));
+                if (parsedType == null) {
+                    return Optional.of("Type '" + value(record, type) + "' should be INCOME or EXPENSE");
+                }
+            } else {
+                // without a type column the sign of the amount decides, as in most bank statements
+                parsedType = parsedAmount.signum() < 0 ? Type.EXPENSE : Type.INCOME;
+                parsedAmount = parsedAmount.abs();
+            }
+
+            Optional<String> amountViolation = TransactionRules.amountViolation(parsedAmount);
+            if (amountViolation.isPresent()) {
+                return amountViolation;
+            }
+
+            LocalDate parsedDate = parseDate(value(record, date), options);
+            if (parsedDate == null) {
+                return Optional.of("Date '" + value(record, date) + "' does not match the expected format");
+            }
+            Optional<String> dateViolation = TransactionRules.dateViolation(parsedDate);
+            if (dateViolation.isPresent()) {
+                return dateViolation;
+            }
+
+            String descriptionText = description >= 0 ? value(record, description) : "";
+            if (descriptionText.length() > 255) {
+                return Optional.of("Description length should not exceed 255 characters");
+            }
+
+            Long categoryId = options.defaultCategoryId();
+            String categoryName = category >= 0 ? value(record, category) : "";
+            if (!categoryName.isBlank()) {
+                categoryId = categoriesByName.get(normalize(categoryName));
+                if (categoryId == null) {
+                    return Optional.of("Category '" + categoryName + "' does not exist");
+                }
+            }
+            if (categoryId == null) {
+                return Optional.of("Category is mandatory");
+            }
+
+            transaction.setType(parsedType);
+            transaction.setAmount(parsedAmount);
+            transaction.setDate(parsedDate);
+            transaction.setDescription(descriptionText.isBlank() ? null : descriptionText);
+            transaction.setCategoryId(categoryId);
+            return Optional.empty();
+        }
+
+        private static String value(List<String> record, int index) {
+            return index < record.size() ? record.get(index).trim() : "";
+        }
+
+        private static Type parseType(String value) {
+            for (Type candidate : Type.values()) {
+                if (candidate.name().equalsIgnoreCase(value)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private static LocalDate parseDate(String value, ImportOptions options) {
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor unresolved = options.dateFormat().parseUnresolved(value, position);
+            if (unresolved == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value, options.dateFormat());
+            } catch (DateTimeException ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.finance_tracker.services.ledger;
+
+import com.example.finance_tracker.common.Granularity;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.BalancePoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceSeriesService {
+
+    static final int MAX_POINTS = 1_000;
+
+    private final LedgerStore ledgerStore;
+
+    /**
+     * Balance at the end of each bucket of the range (weeks end on Sunday); the last point is always {@code to}.
+     * Every point includes all transactions before {@code from} as well.
+     */
+    public List<BalancePoint> getBalanceSeries(Long userId, LocalDate from, LocalDate to, Granularity granularity) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Start date is after end date");
+        }
+
+        List<LocalDate> dates = pointDates(from, to, granularity);
+        int[] days = dates.stream().mapToInt(date -> (int) date.toEpochDay()).toArray();
+        long[] balances = ledgerStore.read(userId, ledger -> {
+            long[] result = new long[days.length];
+            for (int i = 0; i < days.length; i++) {
+                result[i] = ledger.balanceAt(days[i]);
+            }
+            return result;
+        });
+
+        List<BalancePoint> points = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            points.add(new BalancePoint(dates.get(i), LedgerRow.toAmount(balances[i])));
+        }
+        return points;
+    }
+
+    private List<LocalDate> pointDates(LocalDate from, LocalDate to, Granularity granularity) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate end = granularity.next(granularity.startOf(from)).minusDays(1);
+        while (end.isBefore(to)) {
+            dates.add(end);
+            if (dates.size() >= MAX_POINTS) {
+                throw new ValidationException("Balance series cannot have more than " + MAX_POINTS + " points");
+            }
+            end = granularity.next(end.plusDays(1)).minusDays(1);
+        }
+        dates.add(to);
+        return dates;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.finance_tracker.services.ledger;
+
+/**
+ * Fenwick tree of signed cents over a window of epoch days, so both a change on one day and the balance up to a
+ * day cost O(log days). The window grows when a change falls outside it.
+ */
+final class BalanceTree {
+    private static final int HEADROOM_DAYS = 366;
+
+    private int firstDay;
+    private long[] values;
+    private long[] tree;
+
+    BalanceTree(int firstDay, int lastDay) {
+        this.firstDay = firstDay;
+        this.values = new long[lastDay - firstDay + 1];
+        this.tree = new long[values.length + 1];
+    }
+
+    int days() {
+        return values.length;
+    }
+
+    void add(int day, long cents) {
+        if (day < firstDay || day >= firstDay + values.length) {
+            resize(Math.min(firstDay, day - HEADROOM_DAYS), Math.max(firstDay + values.length - 1, day + HEADROOM_DAYS));
+        }
+        int index = day - firstDay;
+        values[index] += cents;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += cents;
+        }
+    }
+
+    // sum of every change on or before the day
+    long balanceAt(int day) {
+        if (day < firstDay) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = Math.min(day - firstDay + 1, values.length); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void resize(int newFirstDay, int newLastDay) {
+        long[] resized = new long[newLastDay - newFirstDay + 1];
+        System.arraycopy(values, 0, resized, firstDay - newFirstDay, values.length);
+        firstDay = newFirstDay;
+        values = resized;
+        tree = new long[values.length + 1];
+        // linear construction: every node passes its sum on to its parent once
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.finance_tracker.services.ledger;
+
+/**
+ * Open addressing table from category id to a sum of cents; keys are never 0, which marks an empty slot.
+ */
+final class CategoryTotals {
+    private long[] keys = new long[16];
+    private long[] sums = new long[16];
+    private int size;
+
+    void add(long categoryId, long cents) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int slot = slotOf(keys, categoryId);
+        if (keys[slot] == 0) {
+            keys[slot] = categoryId;
+            size++;
+        }
+        sums[slot] += cents;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Consumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], sums[slot]);
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldSums = sums;
+        keys = new long[oldKeys.length * 2];
+        sums = new long[oldKeys.length * 2];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                int target = slotOf(keys, oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                sums[target] = oldSums[slot];
+            }
+        }
+    }
+
+    private static int slotOf(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    @FunctionalInterface
+    interface Consumer {
+        void accept(long categoryId, long cents);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.finance_tracker.services.ledger;
+
+import com.example.finance_tracker.common.Granularity;
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.entities.CategoryEntity;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.DateRange;
+import com.example.finance_tracker.models.MonthlySummary;
+import com.example.finance_tracker.models.MonthlyTrend;
+import com.example.finance_tracker.models.PeriodSummary;
+import com.example.finance_tracker.models.SummaryBatch;
+import com.example.finance_tracker.models.TopReport;
+import com.example.finance_tracker.models.TrendPoint;
+import com.example.finance_tracker.repositories.CategoryRepository;
+import com.example.finance_tracker.repositories.ReportRepository;
+import com.example.finance_tracker.services.ReportService;
+import com.example.finance_tracker.services.reports.TopRanking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// answers reports from the in-memory ledger; only category names and description rankings come from the database
+@Service
+@Qualifier(ReportService.REPORT_ENGINE)
+@ConditionalOnProperty(prefix = "app.reports", name = "engine", havingValue = "ledger")
+@RequiredArgsConstructor
+public class LedgerReportService implements ReportService {
+
+    private static final int MAX_BATCH_SIZE = 60;
+    private static final int MAX_TREND_BUCKETS = 1_000;
+
+    private final LedgerStore ledgerStore;
+    private final CategoryRepository categoryRepository;
+    private final ReportRepository reportRepository;
+
+    @Override
+    public MonthlySummary getMonthlySummary(Long userId, YearMonth month) {
+        LedgerTotals totals = ledgerStore.read(userId, ledger -> totals(ledger, month.atDay(1), month.atEndOfMonth()));
+        return toMonthlySummary(month, totals);
+    }
+
+    @Override
+    public List<CategorySummary> getMonthlySummaryByCategory(Long userId, YearMonth month, Type type) {
+        CategoryTotals totals = ledgerStore.read(userId, ledger -> ledger.categoryTotals(
+                (int) month.atDay(1).toEpochDay(), (int) month.atEndOfMonth().toEpochDay(), type == Type.INCOME));
+
+        Map<Long, Long> centsByCategory = new HashMap<>(totals.size() * 2);
+        totals.forEach(centsByCategory::put);
+        if (centsByCategory.isEmpty()) {
+            return List.of();
+        }
+
+        List<CategorySummary> summaries = new ArrayList<>();
+        // the ledger may briefly hold ids of categories deleted a moment ago; those rows have no name to show
+        for (CategoryEntity category : categoryRepository.findByUserEntityIdAndIdIn(userId, centsByCategory.keySet())) {
+            summaries.add(new CategorySummary(category.getId(), category.getName(),
+                    LedgerRow.toAmount(centsByCategory.get(category.getId()))));
+        }
+        return summaries;
+    }
+
+    @Override
+    public PeriodSummary getSummaryForPeriod(Long userId, LocalDate from, LocalDate to) {
+        validateDates(from, to);
+
+        LedgerTotals totals = ledgerStore.read(userId, ledger -> totals(ledger, from, to));
+        return toPeriodSummary(new DateRange(from, to), totals);
+    }
+
+    @Override
+    public SummaryBatch getSummaryBatch(Long userId, List<YearMonth> months, List<DateRange> periods) {
+        if (months.isEmpty() && periods.isEmpty()) {
+            throw new ValidationException("At least one month or period is required");
+        }
+        if (months.size() + periods.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Cannot summarize more than " + MAX_BATCH_SIZE + " months and periods at once");
+        }
+        periods.forEach(period -> validateDates(period.from(), period.to()));
+
+        return ledgerStore.read(userId, ledger -> new SummaryBatch(
+                months.stream()
+                        .map(month -> toMonthlySummary(month, totals(ledger, month.atDay(1), month.atEndOfMonth())))
+                        .toList(),
+                periods.stream()
+                        .map(period -> toPeriodSummary(period, totals(ledger, period.from(), period.to())))
+                        .toList()));
+    }
+
+    @Override
+    public List<MonthlyTrend> getMonthlyTrend(Long userId, YearMonth from, YearMonth to, Type type) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Start month is after end month");
+        }
+
+        return getTrend(userId, from.atDay(1), to.atEndOfMonth(), Granularity.MONTH).stream()
+                .map(point -> new MonthlyTrend(YearMonth.from(point.start()),
+                        type == Type.INCOME ? point.income() : point.expense()))
+                .toList();
+    }
+
+    @Override
+    public List<TrendPoint> getTrend(Long userId, LocalDate from, LocalDate to, Granularity granularity) {
+        validateDates(from, to);
+        if (granularity.bucketCount(from, to) > MAX_TREND_BUCKETS) {
+            throw new ValidationException("Trend cannot have more than " + MAX_TREND_BUCKETS + " buckets");
+        }
+        List<LocalDate> bucketStarts = granularity.bucketStarts(from, to);
+
+        int[] boundaries = new int[bucketStarts.size() + 1];
+        for (int i = 0; i < bucketStarts.size(); i++) {
+            boundaries[i] = (int) bucketStarts.get(i).toEpochDay();
+        }
+        boundaries[bucketStarts.size()] = (int) granularity.next(bucketStarts.getLast()).toEpochDay();
+        LedgerTotals[] totals = ledgerStore.read(userId, ledger -> ledger.bucketTotals(boundaries));
+
+        List<TrendPoint> points = new ArrayList<>(totals.length);
+        for (int i = 0; i < totals.length; i++) {
+            points.add(new TrendPoint(bucketStarts.get(i), LedgerRow.toAmount(totals[i].incomeCents()),
+                    LedgerRow.toAmount(totals[i].expenseCents()),
+                    LedgerRow.toAmount(totals[i].incomeCents() - totals[i].expenseCents()), totals[i].count()));
+        }
+        return points;
+    }
+
+    @Override
+    public TopReport getTopCategories(Long userId, LocalDate from, LocalDate to, Type type, int limit) {
+        validateDates(from, to);
+        TopRanking.validateLimit(limit);
+
+        record Entry(long categoryId, long cents) {
+        }
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        List<Entry> entries = new ArrayList<>();
+        long totalCents = ledgerStore.read(userId, ledger -> {
+            ledger.categoryTotals(fromDay, toDay, type == Type.INCOME)
+                    .forEach((categoryId, cents) -> entries.add(new Entry(categoryId, cents)));
+            LedgerTotals totals = ledger.totals(fromDay, toDay);
+            return type == Type.INCOME ? totals.incomeCents() : totals.expenseCents();
+        });
+
+        // names are resolved before ranking, so a category the ledger still holds but the database lost takes no place
+        Map<Long, String> names = new HashMap<>();
+        categoryRepository.findByUserEntityIdAndIdIn(userId, entries.stream().map(Entry::categoryId).toList())
+                .forEach(category -> names.put(category.getId(), category.getName()));
+        List<Entry> named = entries.stream().filter(entry -> names.containsKey(entry.categoryId())).toList();
+        List<TopRanking.Ranked> ranked = TopRanking.select(named, limit, Comparator.comparingLong(Entry::cents)
+                        .thenComparing(Entry::categoryId, Comparator.reverseOrder())).stream()
+                .map(entry -> new TopRanking.Ranked(entry.categoryId(), names.get(entry.categoryId()),
+                        LedgerRow.toAmount(entry.cents())))
+                .toList();
+        return TopRanking.toReport(LedgerRow.toAmount(totalCents), ranked);
+    }
+
+    // the ledger holds no descriptions, so they are ranked in SQL and only the total comes from memory
+    @Override
+    public TopReport getTopDescriptions(Long userId, LocalDate from, LocalDate to, Type type, int limit) {
+        validateDates(from, to);
+        TopRanking.validateLimit(limit);
+
+        List<TopRanking.Ranked> ranked = reportRepository.totalsByDescription(userId, type, from, to, Limit.of(limit))
+                .stream().map(row -> new TopRanking.Ranked(null, row.description(), row.total()))
+                .toList();
+        LedgerTotals totals = ledgerStore.read(userId, ledger -> totals(ledger, from, to));
+        return TopRanking.toReport(LedgerRow.toAmount(
+                type == Type.INCOME ? totals.incomeCents() : totals.expenseCents()), ranked);
+    }
+
+    private LedgerTotals totals(UserLedger ledger, LocalDate from, LocalDate to) {
+        return ledger.totals((int) from.toEpochDay(), (int) to.toEpochDay());
+    }
+
+    private MonthlySummary toMonthlySummary(YearMonth month, LedgerTotals totals) {
+        return new MonthlySummary(month, LedgerRow.toAmount(totals.incomeCents()),
+                LedgerRow.toAmount(totals.expenseCents()),
+                LedgerRow.toAmount(totals.incomeCents() - totals.expenseCents()), totals.count());
+    }
+
+    private PeriodSummary toPeriodSummary(DateRange period, LedgerTotals totals) {
+        return new PeriodSummary(period.from(), period.to(), LedgerRow.toAmount(totals.incomeCents()),
+                LedgerRow.toAmount(totals.expenseCents()),
+                LedgerRow.toAmount(totals.incomeCents() - totals.expenseCents()), totals.count());
+    }
+
+    private void validateDates(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Start date is after end date");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.finance_tracker.services.ledger;
+
+import com.example.finance_tracker.common.Type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+record LedgerRow(
+        long id,
+        int day,
+        long cents,
+        boolean income,
+        long categoryId
+) {
+    static final long UNCATEGORIZED = 0L;
+
+    static LedgerRow of(Long id, Type type, BigDecimal amount, LocalDate date, Long categoryId) {
+        return new LedgerRow(id, (int) date.toEpochDay(), toCents(amount), type == Type.INCOME,
+                categoryId == null ? UNCATEGORIZED : categoryId);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.finance_tracker.services.ledger;
+
+import com.example.finance_tracker.events.CategoryDeletedEvent;
+import com.example.finance_tracker.events.RollupRebuiltEvent;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TransactionView;
+import com.example.finance_tracker.repositories.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Component
+public class LedgerStore {
+
+    /**
+     * Changes are applied before {@code CachingReportService} invalidates, so a report loaded from the ledger before
+     * they are applied is discarded by that invalidation instead of being cached as current.
+     */
+    public static final int LISTENER_ORDER = 0;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxLedgerBytes;
+
+    // access-ordered, so iteration starts with the user whose ledger was used least recently
+    private final Map<Long, UserLedger> ledgers = new LinkedHashMap<>(16, 0.75f, true);
+
+    public LedgerStore(TransactionRepository transactionRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.reports.ledger.max-size:256MB}") DataSize maxLedgerSize) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxLedgerBytes = maxLedgerSize.toBytes();
+    }
+
+    <T> T read(Long userId, Function<UserLedger, T> query) {
+        UserLedger ledger;
+        synchronized (ledgers) {
+            ledger = ledgers.computeIfAbsent(userId, id -> new UserLedger());
+        }
+
+        T result;
+        synchronized (ledger) {
+            if (!ledger.isBuilt()) {
+                build(userId, ledger);
+            }
+            result = query.apply(ledger);
+        }
+        evictColdUsers();
+        return result;
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        UserLedger ledger = find(event.userId());
+        if (ledger == null) {
+            return;
+        }
+        long[] removed = event.removed().stream().mapToLong(Transaction::getId).toArray();
+        List<LedgerRow> added = event.added().stream()
+                .map(transaction -> LedgerRow.of(transaction.getId(), transaction.getType(), transaction.getAmount(),
+                        transaction.getDate(), transaction.getCategoryId()))
+                .toList();
+        synchronized (ledger) {
+            if (ledger.isBuilt()) {
+                ledger.apply(removed, added);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        UserLedger ledger = find(event.userId());
+        if (ledger == null) {
+            return;
+        }
+        synchronized (ledger) {
+            if (ledger.isBuilt()) {
+                ledger.apply(removedIds(ledger, event), List.of());
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        UserLedger ledger = find(event.userId());
+        if (ledger == null) {
+            return;
+        }
+        synchronized (ledger) {
+            ledger.moveToUncategorized(event.categoryId());
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onRollupRebuilt(RollupRebuiltEvent event) {
+        drop(event.userId());
+    }
+
+    private long[] removedIds(UserLedger ledger, TransactionsDeletedEvent event) {
+        if (event.ids() != null) {
+            return event.ids().stream().mapToLong(Long::longValue).toArray();
+        }
+        if (event.range() != null) {
+            return ledger.idsBetween((int) event.range().from().toEpochDay(), (int) event.range().to().toEpochDay());
+        }
+        return ledger.idsInCategory(event.categoryId());
+    }
+
+    private UserLedger find(Long userId) {
+        synchronized (ledgers) {
+            return ledgers.get(userId);
+        }
+    }
+
+    private void drop(Long userId) {
+        synchronized (ledgers) {
+            ledgers.remove(userId);
+        }
+    }
+
+    // the ledger is published before it is filled, so changes committed meanwhile wait for the build and apply on top
+    private void build(Long userId, UserLedger ledger) {
+        ledger.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionView> views = transactionRepository.streamByUserOldestFirst(userId)) {
+                views.forEach(view -> ledger.append(
+                        LedgerRow.of(view.id(), view.type(), view.amount(), view.date(), view.categoryId())));
+            }
+        });
+        ledger.markBuilt();
+    }
+
+    private void evictColdUsers() {
+        synchronized (ledgers) {
+            long total = 0;
+            for (UserLedger ledger : ledgers.values()) {
+                total += ledger.estimatedBytes();
+            }
+            Iterator<UserLedger> coldestFirst = ledgers.values().iterator();
+            // the most recently used ledger always stays, even when it alone exceeds the budget
+            while (total > maxLedgerBytes && ledgers.size() > 1) {
+                total -= coldestFirst.next().estimatedBytes();
+                coldestFirst.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.finance_tracker.services.ledger;
+
+record LedgerTotals(
+        long incomeCents,
+        long expenseCents,
+        long count
+) {
+}
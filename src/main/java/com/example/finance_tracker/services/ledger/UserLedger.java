@@ -0,0 +1,249 @@
+package com.example.finance_tracker.services.ledger;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One user's transactions as parallel primitive columns ordered by (day, id). Report queries binary search the
+ * day column for their range and sum cents in a single loop, so nothing is boxed and no BigDecimal is created
+ * until the result is returned. A {@link BalanceTree} over the same rows answers running balances.
+ */
+final class UserLedger {
+    private static final int ROW_BYTES = Integer.BYTES + 3 * Long.BYTES;
+    private static final Comparator<LedgerRow> ORDER =
+            Comparator.comparingInt(LedgerRow::day).thenComparingLong(LedgerRow::id);
+
+    private int[] days = new int[64];
+    private long[] cents = new long[64];
+    private long[] ids = new long[64];
+    private long[] categoryIds = new long[64];
+    private final BitSet income = new BitSet();
+    private BalanceTree balance = emptyBalance();
+    private int size;
+    private volatile boolean built;
+    private volatile long estimatedBytes;
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    void markBuilt() {
+        built = true;
+        updateEstimate();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        days = new int[64];
+        cents = new long[64];
+        ids = new long[64];
+        categoryIds = new long[64];
+        income.clear();
+        balance = emptyBalance();
+        size = 0;
+        built = false;
+        updateEstimate();
+    }
+
+    // rows must arrive in (day, id) order, as the loading query returns them
+    void append(LedgerRow row) {
+        ensureCapacity(size + 1);
+        set(size, row);
+        size++;
+    }
+
+    /**
+     * Drops {@code removedIds} and inserts {@code added}, replacing rows whose id is already present, in one pass
+     * over the columns. Applying the same change twice leaves the ledger as applying it once.
+     */
+    void apply(long[] removedIds, List<LedgerRow> added) {
+        long[] dropped = Arrays.copyOf(removedIds, removedIds.length + added.size());
+        for (int i = 0; i < added.size(); i++) {
+            dropped[removedIds.length + i] = added.get(i).id();
+        }
+        if (dropped.length > 0) {
+            Arrays.sort(dropped);
+            compact(dropped);
+        }
+        if (!added.isEmpty()) {
+            merge(added.stream().sorted(ORDER).toList());
+        }
+        updateEstimate();
+    }
+
+    void moveToUncategorized(long categoryId) {
+        for (int i = 0; i < size; i++) {
+            if (categoryIds[i] == categoryId) {
+                categoryIds[i] = LedgerRow.UNCATEGORIZED;
+            }
+        }
+    }
+
+    long[] idsBetween(int fromDay, int toDay) {
+        return Arrays.copyOfRange(ids, lowerBound(fromDay), lowerBound(toDay + 1));
+    }
+
+    long[] idsInCategory(long categoryId) {
+        long[] found = new long[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (categoryIds[i] == categoryId) {
+                found[count++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // income minus expense over every row on or before the day
+    long balanceAt(int day) {
+        return balance.balanceAt(day);
+    }
+
+    LedgerTotals totals(int fromDay, int toDay) {
+        int from = lowerBound(fromDay);
+        int to = lowerBound(toDay + 1);
+        long incomeCents = 0;
+        long expenseCents = 0;
+        for (int i = from; i < to; i++) {
+            if (income.get(i)) {
+                incomeCents += cents[i];
+            } else {
+                expenseCents += cents[i];
+            }
+        }
+        return new LedgerTotals(incomeCents, expenseCents, Math.max(0, to - from));
+    }
+
+    CategoryTotals categoryTotals(int fromDay, int toDay, boolean ofIncome) {
+        int from = lowerBound(fromDay);
+        int to = lowerBound(toDay + 1);
+        CategoryTotals totals = new CategoryTotals();
+        for (int i = from; i < to; i++) {
+            if (income.get(i) == ofIncome && categoryIds[i] != LedgerRow.UNCATEGORIZED) {
+                totals.add(categoryIds[i], cents[i]);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Sums income and expense between consecutive boundaries: element {@code k} covers days
+     * {@code [boundaries[k], boundaries[k + 1])}.
+     */
+    LedgerTotals[] bucketTotals(int[] boundaries) {
+        LedgerTotals[] totals = new LedgerTotals[boundaries.length - 1];
+        int from = lowerBound(boundaries[0]);
+        for (int bucket = 0; bucket < totals.length; bucket++) {
+            int to = lowerBound(boundaries[bucket + 1]);
+            long incomeCents = 0;
+            long expenseCents = 0;
+            for (int i = from; i < to; i++) {
+                if (income.get(i)) {
+                    incomeCents += cents[i];
+                } else {
+                    expenseCents += cents[i];
+                }
+            }
+            totals[bucket] = new LedgerTotals(incomeCents, expenseCents, to - from);
+            from = to;
+        }
+        return totals;
+    }
+
+    // index of the first row on or after the day
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void compact(long[] droppedIds) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(droppedIds, ids[i]) < 0) {
+                move(i, kept++);
+            } else {
+                balance.add(days[i], income.get(i) ? -cents[i] : cents[i]);
+            }
+        }
+        income.clear(kept, size);
+        size = kept;
+    }
+
+    // merges from the back so every existing row moves at most once
+    private void merge(List<LedgerRow> sorted) {
+        ensureCapacity(size + sorted.size());
+        int existing = size - 1;
+        int write = size + sorted.size() - 1;
+        for (int next = sorted.size() - 1; next >= 0; write--) {
+            LedgerRow row = sorted.get(next);
+            if (existing >= 0 && (days[existing] > row.day()
+                    || days[existing] == row.day() && ids[existing] > row.id())) {
+                move(existing--, write);
+            } else {
+                set(write, row);
+                next--;
+            }
+        }
+        size += sorted.size();
+    }
+
+    private void move(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        days[to] = days[from];
+        cents[to] = cents[from];
+        ids[to] = ids[from];
+        categoryIds[to] = categoryIds[from];
+        income.set(to, income.get(from));
+    }
+
+    private void set(int index, LedgerRow row) {
+        days[index] = row.day();
+        cents[index] = row.cents();
+        ids[index] = row.id();
+        categoryIds[index] = row.categoryId();
+        income.set(index, row.income());
+        balance.add(row.day(), row.income() ? row.cents() : -row.cents());
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= days.length) {
+            return;
+        }
+        int grown = Math.max(capacity, days.length + (days.length >> 1));
+        days = Arrays.copyOf(days, grown);
+        cents = Arrays.copyOf(cents, grown);
+        ids = Arrays.copyOf(ids, grown);
+        categoryIds = Arrays.copyOf(categoryIds, grown);
+    }
+
+    private static BalanceTree emptyBalance() {
+        int today = (int) LocalDate.now().toEpochDay();
+        return new BalanceTree(today - 366, today + 366);
+    }
+
+    private void updateEstimate() {
+        estimatedBytes = (long) days.length * ROW_BYTES + income.size() / Byte.SIZE
+                + (long) balance.days() * 2 * Long.BYTES;
+    }
+}
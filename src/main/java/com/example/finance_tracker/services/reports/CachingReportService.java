@@ -0,0 +1,146 @@
+package com.example.finance_tracker.services.reports;
+
+import com.example.finance_tracker.common.Granularity;
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.events.CategoriesChangedEvent;
+import com.example.finance_tracker.events.CategoryDeletedEvent;
+import com.example.finance_tracker.events.RollupRebuiltEvent;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
+import com.example.finance_tracker.models.CategorySummary;
+import com.example.finance_tracker.models.DateRange;
+import com.example.finance_tracker.models.MonthlySummary;
+import com.example.finance_tracker.models.MonthlyTotal;
+import com.example.finance_tracker.models.MonthlyTrend;
+import com.example.finance_tracker.models.PeriodSummary;
+import com.example.finance_tracker.models.SummaryBatch;
+import com.example.finance_tracker.models.TopReport;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TrendPoint;
+import com.example.finance_tracker.services.ReportService;
+import com.example.finance_tracker.services.reports.ReportCacheKey.Report;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.finance_tracker.services.ReportService.REPORT_ENGINE;
+
+// cache hits are answered without opening a transaction; misses go to the configured report engine
+@Primary
+@Service
+public class CachingReportService implements ReportService {
+
+    private final ReportService reportService;
+    private final ReportCache reportCache;
+
+    public CachingReportService(@Qualifier(REPORT_ENGINE) ReportService reportService, ReportCache reportCache) {
+        this.reportService = reportService;
+        this.reportCache = reportCache;
+    }
+
+    @Override
+    public MonthlySummary getMonthlySummary(Long userId, YearMonth month) {
+        return reportCache.get(new ReportCacheKey(userId, Report.MONTHLY_SUMMARY, month, month, null),
+                () -> reportService.getMonthlySummary(userId, month));
+    }
+
+    @Override
+    public List<CategorySummary> getMonthlySummaryByCategory(Long userId, YearMonth month, Type type) {
+        return reportCache.get(new ReportCacheKey(userId, Report.CATEGORY_SUMMARY, month, month, type),
+                () -> reportService.getMonthlySummaryByCategory(userId, month, type));
+    }
+
+    @Override
+    public PeriodSummary getSummaryForPeriod(Long userId, LocalDate from, LocalDate to) {
+        return reportCache.get(new ReportCacheKey(userId, Report.PERIOD_SUMMARY,
+                        YearMonth.from(from), YearMonth.from(to), new DateRange(from, to)),
+                () -> reportService.getSummaryForPeriod(userId, from, to));
+    }
+
+    @Override
+    public SummaryBatch getSummaryBatch(Long userId, List<YearMonth> months, List<DateRange> periods) {
+        return reportService.getSummaryBatch(userId, months, periods);
+    }
+
+    @Override
+    public List<MonthlyTrend> getMonthlyTrend(Long userId, YearMonth from, YearMonth to, Type type) {
+        return reportCache.get(new ReportCacheKey(userId, Report.MONTHLY_TREND, from, to, type),
+                () -> reportService.getMonthlyTrend(userId, from, to, type));
+    }
+
+    @Override
+    public List<TrendPoint> getTrend(Long userId, LocalDate from, LocalDate to, Granularity granularity) {
+        // the first and last buckets can reach into the months around the requested range
+        return reportCache.get(new ReportCacheKey(userId, Report.TREND, YearMonth.from(granularity.startOf(from)),
+                        YearMonth.from(granularity.endOf(to)), List.of(granularity, new DateRange(from, to))),
+                () -> reportService.getTrend(userId, from, to, granularity));
+    }
+
+    @Override
+    public TopReport getTopCategories(Long userId, LocalDate from, LocalDate to, Type type, int limit) {
+        return reportCache.get(new ReportCacheKey(userId, Report.TOP_CATEGORIES, YearMonth.from(from),
+                        YearMonth.from(to), List.of(type, new DateRange(from, to), limit)),
+                () -> reportService.getTopCategories(userId, from, to, type, limit));
+    }
+
+    @Override
+    public TopReport getTopDescriptions(Long userId, LocalDate from, LocalDate to, Type type, int limit) {
+        return reportCache.get(new ReportCacheKey(userId, Report.TOP_DESCRIPTIONS, YearMonth.from(from),
+                        YearMonth.from(to), List.of(type, new DateRange(from, to), limit)),
+                () -> reportService.getTopDescriptions(userId, from, to, type, limit));
+    }
+
+    // runs after the in-memory ledger has applied the change, see LedgerStore.LISTENER_ORDER
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Set<YearMonth> months = new HashSet<>();
+        for (Transaction transaction : event.removed()) {
+            months.add(YearMonth.from(transaction.getDate()));
+        }
+        for (Transaction transaction : event.added()) {
+            months.add(YearMonth.from(transaction.getDate()));
+        }
+        reportCache.invalidate(event.userId(), key -> key.covers(months));
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        Set<YearMonth> months = new HashSet<>();
+        for (MonthlyTotal total : event.totals()) {
+            months.add(total.month());
+        }
+        if (!months.isEmpty()) {
+            reportCache.invalidate(event.userId(), key -> key.covers(months));
+        }
+    }
+
+    // category summaries carry the category name, and a deleted category's totals move to "no category"
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        reportCache.invalidate(event.userId(), key -> key.report().namesCategories());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        reportCache.invalidate(event.userId(), key -> key.report().namesCategories());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onRollupRebuilt(RollupRebuiltEvent event) {
+        reportCache.invalidate(event.userId(), key -> true);
+    }
+}
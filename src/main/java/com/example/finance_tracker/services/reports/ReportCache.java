@@ -0,0 +1,139 @@
+package com.example.finance_tracker.services.reports;
+
+import com.example.finance_tracker.models.TopReport;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class ReportCache {
+
+    static final String CACHE_NAME = "reports";
+
+    private final Cache<ReportCacheKey, Object> cache;
+    private final Map<Long, UserEntries> entriesByUser = new ConcurrentHashMap<>();
+
+    // a result weighs one plus the number of rows it holds, so a twelve month trend costs more than a summary
+    public ReportCache(@Value("${app.reports.cache.max-weight:200000}") long maxWeight,
+                       @Value("${app.reports.cache.expire-after-access:30m}") Duration expireAfterAccess,
+                       MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((ReportCacheKey key, Object value) -> switch (value) {
+                    case Collection<?> rows -> rows.size() + 1;
+                    case TopReport top -> top.items().size() + 1;
+                    default -> 1;
+                })
+                .expireAfterAccess(expireAfterAccess)
+                .removalListener((ReportCacheKey key, Object value, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted()) {
+                        forget(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(ReportCacheKey key, Supplier<T> loader) {
+        T cached = (T) cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserEntries entries;
+        long generation;
+        while (true) {
+            entries = entriesByUser.computeIfAbsent(key.userId(), userId -> new UserEntries());
+            synchronized (entries) {
+                // a retired record was just removed from the map, so the next lookup finds or creates its successor
+                if (!entries.retired) {
+                    generation = entries.generation;
+                    entries.loading++;
+                    break;
+                }
+            }
+        }
+        try {
+            T loaded = loader.get();
+            // a write that committed while the result was loading may not be part of it, so it is not kept
+            synchronized (entries) {
+                if (entries.generation == generation) {
+                    entries.keys.add(key);
+                    cache.put(key, loaded);
+                }
+            }
+            return loaded;
+        } finally {
+            synchronized (entries) {
+                entries.loading--;
+                retireIfUnused(key.userId(), entries);
+            }
+        }
+    }
+
+    // a user without cached results or loads in flight has nothing to invalidate, so no record is created for it
+    void invalidate(Long userId, Predicate<ReportCacheKey> affected) {
+        UserEntries entries = entriesByUser.get(userId);
+        if (entries == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.generation++;
+            entries.keys.removeIf(key -> {
+                if (affected.test(key)) {
+                    cache.invalidate(key);
+                    return true;
+                }
+                return false;
+            });
+            retireIfUnused(userId, entries);
+        }
+    }
+
+    int trackedUsers() {
+        return entriesByUser.size();
+    }
+
+    // runs asynchronously after an eviction, by which time the same key may have been loaded again
+    private void forget(ReportCacheKey key) {
+        UserEntries entries = entriesByUser.get(key.userId());
+        if (entries != null) {
+            synchronized (entries) {
+                if (!cache.asMap().containsKey(key)) {
+                    entries.keys.remove(key);
+                }
+                retireIfUnused(key.userId(), entries);
+            }
+        }
+    }
+
+    // called holding the record's lock; once retired a record is never used again
+    private void retireIfUnused(Long userId, UserEntries entries) {
+        if (!entries.retired && entries.keys.isEmpty() && entries.loading == 0) {
+            entries.retired = true;
+            entriesByUser.remove(userId, entries);
+        }
+    }
+
+    private static final class UserEntries {
+        private long generation;
+        private int loading;
+        private boolean retired;
+        private final Set<ReportCacheKey> keys = new HashSet<>();
+    }
+}
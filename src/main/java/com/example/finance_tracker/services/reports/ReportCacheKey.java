@@ -0,0 +1,39 @@
+package com.example.finance_tracker.services.reports;
+
+import java.time.YearMonth;
+import java.util.Collection;
+
+/**
+ * Identifies one cached report result. {@code from} and {@code to} are the months the result was computed from,
+ * {@code arguments} holds whatever else distinguishes it (a type, a period).
+ */
+record ReportCacheKey(
+        Long userId,
+        Report report,
+        YearMonth from,
+        YearMonth to,
+        Object arguments
+) {
+    enum Report {
+        MONTHLY_SUMMARY,
+        CATEGORY_SUMMARY,
+        PERIOD_SUMMARY,
+        MONTHLY_TREND,
+        TREND,
+        TOP_CATEGORIES,
+        TOP_DESCRIPTIONS;
+
+        boolean namesCategories() {
+            return this == CATEGORY_SUMMARY || this == TOP_CATEGORIES;
+        }
+    }
+
+    boolean covers(Collection<YearMonth> months) {
+        for (YearMonth month : months) {
+            if (!month.isBefore(from) && !month.isAfter(to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.finance_tracker.services.reports;
+
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.models.TopItem;
+import com.example.finance_tracker.models.TopReport;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// shared by the report engines so both rank, round and fill the "other" bucket the same way
+public final class TopRanking {
+    public static final int MAX_LIMIT = 50;
+    public static final String OTHER = "Other";
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private TopRanking() {
+    }
+
+    public record Ranked(Long categoryId, String name, BigDecimal total) {
+    }
+
+    public static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit should be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * The {@code limit} largest candidates by {@code order}, largest first. A min-heap of {@code limit} entries
+     * holds the best seen so far, so memory stays bounded however many candidates there are.
+     */
+    public static <T> List<T> select(Iterable<T> candidates, int limit, Comparator<? super T> order) {
+        PriorityQueue<T> heap = new PriorityQueue<>(limit + 1, order);
+        for (T candidate : candidates) {
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (order.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<T> top = new ArrayList<>(heap);
+        top.sort(order.reversed());
+        return top;
+    }
+
+    // whatever the ranked items leave of the total, including uncategorized amounts, goes to "other"
+    public static TopReport toReport(BigDecimal total, List<Ranked> ranked) {
+        BigDecimal rest = total;
+        List<TopItem> items = new ArrayList<>(ranked.size());
+        for (Ranked item : ranked) {
+            items.add(new TopItem(item.categoryId(), item.name(), item.total(), share(item.total(), total)));
+            rest = rest.subtract(item.total());
+        }
+        return new TopReport(total, items, new TopItem(null, OTHER, rest, share(rest, total)));
+    }
+
+    private static BigDecimal share(BigDecimal part, BigDecimal total) {
+        if (total.signum() == 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return part.multiply(HUNDRED).divide(total, 2, RoundingMode.HALF_UP);
+    }
+}
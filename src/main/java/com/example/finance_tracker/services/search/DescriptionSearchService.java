@@ -0,0 +1,151 @@
+package com.example.finance_tracker.services.search;
+
+import com.example.finance_tracker.events.CategoryDeletedEvent;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.mappers.TransactionMapper;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.models.TransactionView;
+import com.example.finance_tracker.repositories.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+public class DescriptionSearchService {
+
+    static final int MAX_RESULTS = 500;
+    private static final int MAX_QUERY_LENGTH = 255;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxIndexBytes;
+
+    // access-ordered, so iteration starts with the user whose index was used least recently
+    private final Map<Long, UserDescriptionIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    public DescriptionSearchService(TransactionRepository transactionRepository,
+                                    TransactionMapper transactionMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.search.index.max-size:64MB}") DataSize maxIndexSize) {
+        this.transactionRepository = transactionRepository;
+        this.transactionMapper = transactionMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxIndexBytes = maxIndexSize.toBytes();
+    }
+
+    public List<TransactionView> search(Long userId, String query, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new ValidationException("Result size should be between 1 and " + MAX_RESULTS);
+        }
+        if (query == null || query.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query length should not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        List<String> prefixes = DescriptionTokenizer.tokenize(query);
+        if (prefixes.isEmpty()) {
+            throw new ValidationException("Search query should contain at least one letter or digit");
+        }
+
+        UserDescriptionIndex index;
+        synchronized (indexes) {
+            index = indexes.computeIfAbsent(userId, id -> new UserDescriptionIndex());
+        }
+
+        List<TransactionView> found;
+        synchronized (index) {
+            if (!index.isBuilt()) {
+                build(userId, index);
+            }
+            found = index.search(prefixes, limit);
+        }
+        evictColdUsers();
+        return found;
+    }
+
+    @TransactionalEventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        UserDescriptionIndex index;
+        synchronized (indexes) {
+            index = indexes.get(event.userId());
+        }
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            for (Transaction removed : event.removed()) {
+                index.remove(removed.getId());
+            }
+            for (Transaction added : event.added()) {
+                index.upsert(transactionMapper.toView(added));
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTransactionsDeleted(TransactionsDeletedEvent event) {
+        UserDescriptionIndex index;
+        synchronized (indexes) {
+            index = indexes.get(event.userId());
+        }
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            if (event.ids() != null) {
+                event.ids().forEach(index::remove);
+            } else {
+                index.removeIf(view -> event.matches(view.date(), view.categoryId()));
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        // indexed views still carry the removed category id
+        dropIndex(event.userId());
+    }
+
+    private void dropIndex(Long userId) {
+        synchronized (indexes) {
+            indexes.remove(userId);
+        }
+    }
+
+    // the index is published before it is filled, so changes committed meanwhile wait for the build and apply on top
+    private void build(Long userId, UserDescriptionIndex index) {
+        index.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionView> views = transactionRepository.streamByUser(userId)) {
+                views.forEach(index::upsert);
+            }
+        });
+        index.markBuilt();
+    }
+
+    private void evictColdUsers() {
+        synchronized (indexes) {
+            long total = 0;
+            for (UserDescriptionIndex index : indexes.values()) {
+                total += index.estimatedBytes();
+            }
+            Iterator<UserDescriptionIndex> coldestFirst = indexes.values().iterator();
+            // the most recently used index always stays, even when it alone exceeds the cap
+            while (total > maxIndexBytes && indexes.size() > 1) {
+                total -= coldestFirst.next().estimatedBytes();
+                coldestFirst.remove();
+            }
+        }
+    }
+}
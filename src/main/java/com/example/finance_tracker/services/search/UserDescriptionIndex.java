@@ -0,0 +1,188 @@
+package com.example.finance_tracker.services.search;
+
+import com.example.finance_tracker.models.TransactionView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over the descriptions of one user's transactions. Every indexed transaction gets an ordinal,
+ * and each token maps to an ascending int array of ordinals. Updates and deletes leave tombstones that are
+ * dropped once they outnumber the live documents. Callers are expected to synchronize on the instance.
+ */
+final class UserDescriptionIndex {
+
+    private static final Comparator<TransactionView> NEWEST_FIRST = Comparator
+            .comparing(TransactionView::date).thenComparing(TransactionView::id).reversed();
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    // rough per-object sizes, only used to keep the whole cache under its memory cap
+    private static final int DOCUMENT_BYTES = 160;
+    private static final int TERM_BYTES = 120;
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private TransactionView[] documents = new TransactionView[64];
+    private int nextOrdinal;
+    private int tombstones;
+    private long postingBytes;
+    private boolean built;
+
+    private volatile long estimatedBytes;
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    void markBuilt() {
+        built = true;
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    void clear() {
+        postings.clear();
+        ordinals.clear();
+        documents = new TransactionView[64];
+        nextOrdinal = 0;
+        tombstones = 0;
+        postingBytes = 0;
+        built = false;
+        updateEstimate();
+    }
+
+    void upsert(TransactionView view) {
+        removeDocument(view.id());
+        if (view.description() != null) {
+            addDocument(view);
+        }
+        compactIfNeeded();
+        updateEstimate();
+    }
+
+    void remove(Long id) {
+        removeDocument(id);
+        compactIfNeeded();
+        updateEstimate();
+    }
+
+    void removeIf(Predicate<TransactionView> removed) {
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            TransactionView view = documents[ordinal];
+            if (view != null && removed.test(view)) {
+                removeDocument(view.id());
+            }
+        }
+        compactIfNeeded();
+        updateEstimate();
+    }
+
+    List<TransactionView> search(List<String> prefixes, int limit) {
+        BitSet matches = null;
+        for (String prefix : prefixes) {
+            BitSet prefixMatches = new BitSet(nextOrdinal);
+            for (Postings list : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                list.addTo(prefixMatches);
+            }
+            if (matches == null) {
+                matches = prefixMatches;
+            } else {
+                matches.and(prefixMatches);
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<TransactionView> found = new ArrayList<>();
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            if (documents[ordinal] != null) {
+                found.add(documents[ordinal]);
+            }
+        }
+        found.sort(NEWEST_FIRST);
+        return found.size() > limit ? found.subList(0, limit) : found;
+    }
+
+    private void addDocument(TransactionView view) {
+        if (nextOrdinal == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        int ordinal = nextOrdinal++;
+        documents[ordinal] = view;
+        ordinals.put(view.id(), ordinal);
+        for (String token : DescriptionTokenizer.tokenize(view.description())) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                list = new Postings();
+                postings.put(token, list);
+                postingBytes += TERM_BYTES + token.length() + (long) list.capacity() * Integer.BYTES;
+            }
+            int capacity = list.capacity();
+            list.add(ordinal);
+            postingBytes += (long) (list.capacity() - capacity) * Integer.BYTES;
+        }
+    }
+
+    private void removeDocument(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            documents[ordinal] = null;
+            tombstones++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones < MIN_TOMBSTONES_TO_COMPACT || tombstones < ordinals.size()) {
+            return;
+        }
+        TransactionView[] live = Arrays.stream(documents, 0, nextOrdinal)
+                .filter(view -> view != null)
+                .toArray(TransactionView[]::new);
+        postings.clear();
+        ordinals.clear();
+        documents = new TransactionView[Math.max(64, live.length * 2)];
+        nextOrdinal = 0;
+        tombstones = 0;
+        postingBytes = 0;
+        for (TransactionView view : live) {
+            addDocument(view);
+        }
+    }
+
+    private void updateEstimate() {
+        estimatedBytes = (long) documents.length * Long.BYTES + (long) ordinals.size() * DOCUMENT_BYTES + postingBytes;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(ordinals[i]);
+            }
+        }
+
+        int capacity() {
+            return ordinals.length;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.finance_tracker.services.sketches;
+
+import com.example.finance_tracker.models.HistogramBin;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log-linear histogram of amounts in cents. Amounts below {@value #EXACT_LIMIT} cents have a bucket each; above
+ * that every power of two is split into {@value #SUB_BUCKETS} equal buckets, so a bucket is never wider than 1/64
+ * of its lower bound. Buckets are fixed, so sketches merge by adding counts and a removed amount is subtracted from
+ * the bucket it was added to. A quantile is reported as the middle of the bucket holding the true nearest-rank
+ * value, which is within {@link #MAX_RELATIVE_ERROR} of it.
+ */
+public final class AmountSketch {
+    public static final double MAX_RELATIVE_ERROR = 1.0 / 128;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = 2 * SUB_BUCKETS;
+
+    private final int[] buckets;
+    private final long[] counts;
+    private final long count;
+
+    // buckets must be ascending, as the merging query returns them
+    public AmountSketch(int[] buckets, long[] counts) {
+        this.buckets = buckets;
+        this.counts = counts;
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+    }
+
+    // rounded the way the DECIMAL(18, 2) column stores it
+    public static int bucketOf(BigDecimal amount) {
+        return bucketOf(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    static int bucketOf(long cents) {
+        if (cents < EXACT_LIMIT) {
+            return (int) cents;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(cents) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((cents >>> shift) - SUB_BUCKETS);
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return (long) ((bucket & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+    }
+
+    // exclusive
+    static long upperBound(int bucket) {
+        return lowerBound(bucket + 1);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // nearest rank: the smallest amount with at least q of all amounts at or below it; null when empty
+    public BigDecimal quantile(double q) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return toAmount(midpoint(buckets[i]));
+            }
+        }
+        return toAmount(midpoint(buckets[buckets.length - 1]));
+    }
+
+    // one bin per power of two in cents: 0.01, 0.02-0.03, 0.04-0.07 and so on
+    public List<HistogramBin> histogram() {
+        List<HistogramBin> bins = new ArrayList<>();
+        long binStart = -1;
+        long binCount = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            long start = Long.highestOneBit(lowerBound(buckets[i]));
+            if (start != binStart && binCount > 0) {
+                bins.add(new HistogramBin(toAmount(binStart), toAmount(binStart * 2), binCount));
+                binCount = 0;
+            }
+            binStart = start;
+            binCount += counts[i];
+        }
+        if (binCount > 0) {
+            bins.add(new HistogramBin(toAmount(binStart), toAmount(binStart * 2), binCount));
+        }
+        return bins;
+    }
+
+    private static long midpoint(int bucket) {
+        long lower = lowerBound(bucket);
+        return lower + (upperBound(bucket) - 1 - lower) / 2;
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
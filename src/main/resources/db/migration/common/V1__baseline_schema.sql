@@ -0,0 +1,34 @@
+CREATE TABLE users
+(
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    email     VARCHAR(50)  NOT NULL,
+    user_name VARCHAR(50)  NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories
+(
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT      NOT NULL,
+    name        VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    type        ENUM ('EXPENSE','INCOME'),
+    PRIMARY KEY (id),
+    CONSTRAINT FKghuylkwuedgl2qahxjt8g41kb FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE transactions
+(
+    id          BIGINT                     NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT                     NOT NULL,
+    category_id BIGINT,
+    type        ENUM ('EXPENSE','INCOME')  NOT NULL,
+    amount      DECIMAL(18, 2)             NOT NULL,
+    date        DATE                       NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT FKqwv7rmvc8va8rep7piikrojds FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transaction_category FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE SET NULL
+) ENGINE = InnoDB;
@@ -0,0 +1,8 @@
+-- listing, keyset paging, date range filters and exports: WHERE user_id = ? [AND date ...] ORDER BY date DESC, id DESC
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date, id);
+
+-- type filter and the SUM(amount) report aggregates, answered from the index alone
+CREATE INDEX idx_transactions_user_type_date_amount ON transactions (user_id, type, date, amount);
+
+-- category filter
+CREATE INDEX idx_transactions_user_category_date ON transactions (user_id, category_id, date);
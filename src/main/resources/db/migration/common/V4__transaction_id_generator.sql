@@ -0,0 +1,14 @@
+-- transaction ids are handed out in blocks from this table so Hibernate can batch inserts,
+-- which an AUTO_INCREMENT identity column prevents
+CREATE TABLE id_generators
+(
+    name     VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'transactions', COALESCE(MAX(id), 0) + 1
+FROM transactions;
+
+ALTER TABLE transactions MODIFY id BIGINT NOT NULL;
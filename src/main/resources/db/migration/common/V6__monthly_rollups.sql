@@ -0,0 +1,22 @@
+CREATE TABLE monthly_rollups
+(
+    user_id     BIGINT                    NOT NULL,
+    month_start DATE                      NOT NULL,
+    type        ENUM ('EXPENSE','INCOME') NOT NULL,
+    category_id BIGINT                    NOT NULL,
+    total       DECIMAL(20, 2)            NOT NULL,
+    tx_count    BIGINT                    NOT NULL,
+    PRIMARY KEY (user_id, month_start, type, category_id),
+    CONSTRAINT fk_monthly_rollup_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- category_id 0 collects transactions without a category, so the key never contains NULL
+INSERT INTO monthly_rollups (user_id, month_start, type, category_id, total, tx_count)
+SELECT user_id, month_start, type, category_id, SUM(amount), COUNT(*)
+FROM (SELECT user_id,
+             CAST(CONCAT(YEAR(date), '-', LPAD(MONTH(date), 2, '0'), '-01') AS DATE) AS month_start,
+             type,
+             COALESCE(category_id, 0)                                               AS category_id,
+             amount
+      FROM transactions) t
+GROUP BY user_id, month_start, type, category_id;
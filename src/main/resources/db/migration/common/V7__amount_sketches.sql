@@ -0,0 +1,13 @@
+CREATE TABLE amount_sketches
+(
+    user_id     BIGINT                    NOT NULL,
+    month_start DATE                      NOT NULL,
+    type        ENUM ('EXPENSE','INCOME') NOT NULL,
+    category_id BIGINT                    NOT NULL,
+    bucket      INT                       NOT NULL,
+    tx_count    BIGINT                    NOT NULL,
+    PRIMARY KEY (user_id, month_start, type, category_id, bucket),
+    CONSTRAINT fk_amount_sketch_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- bucket numbers are computed in Java, so existing transactions are added by the next rollup rebuild
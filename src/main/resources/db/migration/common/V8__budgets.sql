@@ -0,0 +1,11 @@
+CREATE TABLE budgets
+(
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id       BIGINT         NOT NULL,
+    category_id   BIGINT         NOT NULL,
+    monthly_limit DECIMAL(18, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budget_category UNIQUE (category_id),
+    CONSTRAINT fk_budget_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_budget_category FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- MySQL keeps the implicit index it created for the user foreign key; the (user_id, ...) composite
+-- indexes from V2 can back that constraint, and leaving it in place lets the optimizer pick it over them
+DROP INDEX FKqwv7rmvc8va8rep7piikrojds ON transactions;
@@ -0,0 +1,118 @@
+package com.example.finance_tracker.controllers;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.common.Type;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class BudgetControllerTest extends BaseE2ETest {
+
+    @Test
+    void getStatus_whenSpendingCrossesLimit_thenBudgetIsFlaggedOver() throws Exception {
+        String token = registerAndGetToken("budget-status@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long rent = createCategory(token, "Rent", Type.EXPENSE);
+        setBudget(token, food, "100");
+        setBudget(token, rent, "1000");
+        createTransaction(token, food, 60, Type.EXPENSE, LocalDate.of(2024, 5, 3));
+        createTransaction(token, rent, 900, Type.EXPENSE, LocalDate.of(2024, 5, 1));
+        createTransaction(token, food, 70, Type.EXPENSE, LocalDate.of(2024, 6, 1));
+
+        mockMvc.perform(get("/api/v1/budgets/status")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", "2024-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].categoryName").value("Food"))
+                .andExpect(jsonPath("$[0].spent").value(60))
+                .andExpect(jsonPath("$[0].remaining").value(40))
+                .andExpect(jsonPath("$[0].overBudget").value(false))
+                .andExpect(jsonPath("$[1].spent").value(900));
+
+        createTransaction(token, food, 50, Type.EXPENSE, LocalDate.of(2024, 5, 20));
+
+        mockMvc.perform(get("/api/v1/budgets/{categoryId}/status", food)
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", "2024-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.spent").value(110))
+                .andExpect(jsonPath("$.remaining").value(-10))
+                .andExpect(jsonPath("$.overBudget").value(true));
+
+        mockMvc.perform(get("/api/v1/budgets/status")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", "2024-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].spent").value(0));
+    }
+
+    @Test
+    void setBudget_whenSetAgain_thenLimitIsReplaced() throws Exception {
+        String token = registerAndGetToken("budget-replace@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+
+        setBudget(token, food, "100");
+        setBudget(token, food, "250.50");
+
+        mockMvc.perform(get("/api/v1/budgets")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].categoryId").value(food))
+                .andExpect(jsonPath("$[0].monthlyLimit").value(250.50));
+
+        mockMvc.perform(delete("/api/v1/budgets/{categoryId}", food)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/budgets/{categoryId}/status", food)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void setBudget_whenCategoryIsIncome_thenReturns400() throws Exception {
+        String token = registerAndGetToken("budget-income@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+
+        mockMvc.perform(put("/api/v1/budgets/{categoryId}", salary)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"monthlyLimit": 100}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteCategory_whenBudgetExists_thenBudgetIsRemoved() throws Exception {
+        String token = registerAndGetToken("budget-category-deleted@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        setBudget(token, food, "100");
+
+        mockMvc.perform(delete("/api/v1/categories/{id}", food)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/budgets")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private void setBudget(String token, Long categoryId, String limit) throws Exception {
+        mockMvc.perform(put("/api/v1/budgets/{categoryId}", categoryId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"monthlyLimit": %s}
+                                """.formatted(limit)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.finance_tracker.controllers;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.common.Type;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class DashboardControllerTest extends BaseE2ETest {
+
+    @Test
+    void getDashboard_whenTransactionsExist_thenReturnsEveryPartInOneResponse() throws Exception {
+        String token = registerAndGetToken("dashboard@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        YearMonth month = YearMonth.of(2024, 3);
+        createTransaction(token, salary, 1000, Type.INCOME, month.atDay(1));
+        createTransaction(token, food, 100, Type.EXPENSE, month.atDay(5));
+        createTransaction(token, food, 40, Type.EXPENSE, month.minusMonths(2).atDay(10));
+
+        mockMvc.perform(get("/api/v1/dashboard")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", month.toString())
+                        .param("trendMonths", "3")
+                        .param("recent", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.income").value(1000))
+                .andExpect(jsonPath("$.summary.expense").value(100))
+                .andExpect(jsonPath("$.incomeByCategory", hasSize(1)))
+                .andExpect(jsonPath("$.expenseByCategory[0].categoryId").value(food))
+                .andExpect(jsonPath("$.trend", hasSize(3)))
+                .andExpect(jsonPath("$.trend[0].expense").value(40))
+                .andExpect(jsonPath("$.trend[1].transactionCount").value(0))
+                .andExpect(jsonPath("$.trend[2].net").value(900))
+                .andExpect(jsonPath("$.recentTransactions", hasSize(2)))
+                .andExpect(jsonPath("$.recentTransactions[0].amount").value(100))
+                .andExpect(header().string("ETag", containsString(YearMonth.now().toString())));
+    }
+
+    @Test
+    void getDashboard_whenTrendMonthsIsOutOfRange_thenReturns400() throws Exception {
+        String token = registerAndGetToken("dashboard-invalid@test.com");
+
+        mockMvc.perform(get("/api/v1/dashboard")
+                        .header("Authorization", "Bearer " + token)
+                        .param("trendMonths", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
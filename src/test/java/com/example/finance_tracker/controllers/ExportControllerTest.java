@@ -0,0 +1,284 @@
+package com.example.finance_tracker.controllers;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.common.Type;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ExportControllerTest extends BaseE2ETest {
+
+    @Test
+    void exportCsv_whenRangeGiven_thenStreamsRowsAndTotalsTrailer() throws Exception {
+        String token = registerAndGetToken("export-csv@test.com");
+        Long salary = createCategory(token, "Salary, main", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long travel = createCategory(token, "Travel", Type.EXPENSE);
+
+        createTransaction(token, salary, 1000, Type.INCOME, LocalDate.of(2024, 3, 1));
+        createTransaction(token, food, 40, Type.EXPENSE, LocalDate.of(2024, 3, 5));
+        createTransaction(token, travel, 300, Type.EXPENSE, LocalDate.of(2024, 3, 9));
+        createTransaction(token, food, 70, Type.EXPENSE, LocalDate.of(2024, 4, 1));
+
+        mockMvc.perform(delete("/api/v1/categories/{id}", travel)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "CSV")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=transactions.csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("Date,Category,Type,Amount", lines[0]);
+        assertEquals("2024-03-09,,EXPENSE,300.00", lines[1]);
+        assertEquals("2024-03-05,Food,EXPENSE,40.00", lines[2]);
+        assertEquals("2024-03-01,\"Salary, main\",INCOME,1000.00", lines[3]);
+        assertEquals("", lines[4]);
+        assertEquals("Income,,,1000.00", lines[5]);
+        assertEquals("Expense,,,340.00", lines[6]);
+        assertEquals("Balance,,,660.00", lines[7]);
+    }
+
+    @Test
+    void exportCsv_whenLedgerChangesBetweenExports_thenReflectsChange() throws Exception {
+        String token = registerAndGetToken("export-cache@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, food, 10, Type.EXPENSE, LocalDate.of(2024, 5, 1));
+
+        String first = exportCsv(token);
+        assertEquals(first, exportCsv(token));
+
+        createTransaction(token, food, 15, Type.EXPENSE, LocalDate.of(2024, 5, 2));
+        String second = exportCsv(token);
+        assertEquals("2024-05-02,Food,EXPENSE,15.00", second.split("\n")[1]);
+
+        mockMvc.perform(put("/api/v1/categories/{id}", food)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Groceries\",\"type\":\"EXPENSE\"}"))
+                .andExpect(status().isOk());
+        assertEquals("2024-05-02,Groceries,EXPENSE,15.00", exportCsv(token).split("\n")[1]);
+    }
+
+    @Test
+    void exportJob_whenCompleted_thenFileCanBeDownloadedInRanges() throws Exception {
+        String token = registerAndGetToken("export-job@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, food, 25, Type.EXPENSE, LocalDate.of(2024, 2, 10));
+
+        String location = mockMvc.perform(post("/api/v1/export/jobs")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "CSV"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.format").value("CSV"))
+                .andReturn()
+                .getResponse()
+                .getHeader("Location");
+
+        String status = "QUEUED";
+        for (int attempt = 0; attempt < 100 && !status.equals("COMPLETED"); attempt++) {
+            Thread.sleep(50);
+            String body = mockMvc.perform(get(location)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            status = objectMapper.readTree(body).get("status").asText();
+        }
+        assertEquals("COMPLETED", status);
+
+        String csv = mockMvc.perform(get(location + "/file")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=transactions.csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals("2024-02-10,Food,EXPENSE,25.00", csv.split("\n")[1]);
+
+        mockMvc.perform(get(location + "/file")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Range", "bytes=5-12"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("Category"));
+
+        String otherToken = registerAndGetToken("export-job-other@test.com");
+        mockMvc.perform(get(location)
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete(location)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(location + "/file")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportCsv_whenGzipAccepted_thenResponseIsCompressedInTransit() throws Exception {
+        String token = registerAndGetToken("export-gzip@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        for (int day = 1; day <= 20; day++) {
+            createTransaction(token, food, 10 + day, Type.EXPENSE, LocalDate.of(2024, 5, day));
+        }
+
+        String plain = exportCsv(token);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept-Encoding", "gzip, deflate")
+                        .param("format", "CSV")
+                        .param("startDate", "2024-05-01")
+                        .param("endDate", "2024-05-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=transactions.csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(compressed.length < plain.length());
+    }
+
+    @Test
+    void exportCsv_whenCompressionRequested_thenReturnsCompressedFile() throws Exception {
+        String token = registerAndGetToken("export-gzip-file@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, food, 30, Type.EXPENSE, LocalDate.of(2024, 5, 3));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "CSV")
+                        .param("compression", "GZIP"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=transactions.csv.gz"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("2024-05-03,Food,EXPENSE,30.00", csv.split("\n")[1]);
+        }
+    }
+
+    @Test
+    void exportNdjson_whenRequested_thenWritesRowsAndTotalsLine() throws Exception {
+        String token = registerAndGetToken("export-ndjson@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, salary, 500, Type.INCOME, LocalDate.of(2024, 5, 1));
+        createTransaction(token, food, 45, Type.EXPENSE, LocalDate.of(2024, 5, 2));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=transactions.ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("2024-05-02", objectMapper.readTree(lines[0]).get("date").asText());
+        assertEquals("Food", objectMapper.readTree(lines[0]).get("categoryName").asText());
+        assertEquals(45, objectMapper.readTree(lines[0]).get("amount").asInt());
+        assertEquals("INCOME", objectMapper.readTree(lines[1]).get("type").asText());
+        assertEquals(455, objectMapper.readTree(lines[2]).get("totals").get("balance").asInt());
+    }
+
+    @Test
+    void exportPdf_whenCompressionRequested_thenReturns400() throws Exception {
+        String token = registerAndGetToken("export-pdf-gzip@test.com");
+
+        mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "PDF")
+                        .param("compression", "GZIP"))
+                .andExpect(status().isBadRequest());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept-Encoding", "gzip")
+                        .param("format", "PDF"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF));
+    }
+
+    @Test
+    void export_whenStartIsAfterEnd_thenReturns400() throws Exception {
+        String token = registerAndGetToken("export-dates@test.com");
+
+        mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "CSV")
+                        .param("startDate", "2024-03-31")
+                        .param("endDate", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String exportCsv(String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("format", "CSV")
+                        .param("startDate", "2024-05-01")
+                        .param("endDate", "2024-05-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
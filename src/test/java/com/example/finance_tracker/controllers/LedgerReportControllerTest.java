@@ -0,0 +1,233 @@
+package com.example.finance_tracker.controllers;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.events.TransactionsChangedEvent;
+import com.example.finance_tracker.services.ReportService;
+import com.example.finance_tracker.services.ledger.LedgerStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "app.reports.engine=ledger")
+public class LedgerReportControllerTest extends BaseE2ETest {
+
+    @Autowired
+    ReportBeforeLedgerApply reportBeforeLedgerApply;
+
+    @Test
+    void reports_whenComputedInMemory_thenMatchStoredTransactions() throws Exception {
+        String token = registerAndGetToken("ledger-reports@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long rent = createCategory(token, "Rent", Type.EXPENSE);
+        createTransaction(token, salary, 1000, Type.INCOME, LocalDate.of(2024, 1, 5));
+        createTransaction(token, food, 100, Type.EXPENSE, LocalDate.of(2024, 1, 20));
+        createTransaction(token, rent, 500, Type.EXPENSE, LocalDate.of(2024, 1, 28));
+        createTransaction(token, food, 50, Type.EXPENSE, LocalDate.of(2024, 3, 3));
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", "2024-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.income").value(1000))
+                .andExpect(jsonPath("$.expense").value(600))
+                .andExpect(jsonPath("$.balance").value(400))
+                .andExpect(jsonPath("$.transactionCount").value(3));
+
+        mockMvc.perform(get("/api/v1/reports/period-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-10")
+                        .param("endDate", "2024-03-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.income").value(0))
+                .andExpect(jsonPath("$.expense").value(650));
+
+        mockMvc.perform(get("/api/v1/reports/monthly-trend")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-01")
+                        .param("to", "2024-03")
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].total").value(600))
+                .andExpect(jsonPath("$[1].total").value(0))
+                .andExpect(jsonPath("$[2].total").value(50));
+
+        mockMvc.perform(get("/api/v1/reports/trend")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-02-10")
+                        .param("granularity", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].start").value("2024-01-15"))
+                .andExpect(jsonPath("$[0].expense").value(100))
+                .andExpect(jsonPath("$[1].expense").value(500))
+                .andExpect(jsonPath("$[1].transactionCount").value(1))
+                .andExpect(jsonPath("$[2].net").value(0));
+
+        mockMvc.perform(get("/api/v1/reports/top-categories")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-03-31")
+                        .param("type", "EXPENSE")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(650))
+                .andExpect(jsonPath("$.items[0].categoryId").value(rent))
+                .andExpect(jsonPath("$.other.total").value(150));
+
+        mockMvc.perform(get("/api/v1/reports/summary-batch")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", "2024-03")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months[0].expense").value(50))
+                .andExpect(jsonPath("$.periods[0].transactionCount").value(4));
+    }
+
+    @Test
+    void reports_whenLedgerIsLoaded_thenWritesAreAppliedToIt() throws Exception {
+        String token = registerAndGetToken("ledger-writes@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long travel = createCategory(token, "Travel", Type.EXPENSE);
+        Long txId = createTransaction(token, food, 100, Type.EXPENSE);
+        createTransaction(token, travel, 30, Type.EXPENSE);
+        String month = LocalDate.now().toString().substring(0, 7);
+
+        mockMvc.perform(get("/api/v1/reports/monthly-category-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", month)
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(put("/api/v1/transactions/{id}", txId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {
+                                      "type": "EXPENSE",
+                                      "amount": 40,
+                                      "date": "%s",
+                                      "categoryId": %d
+                                    }
+                                """.formatted(LocalDate.now(), travel)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/reports/monthly-category-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", month)
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].categoryId").value(travel))
+                .andExpect(jsonPath("$[0].total").value(70));
+
+        mockMvc.perform(delete("/api/v1/categories/{id}", travel)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/reports/monthly-category-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", month)
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(delete("/api/v1/transactions/{id}", txId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", month))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(30))
+                .andExpect(jsonPath("$.transactionCount").value(1));
+    }
+
+    @Test
+    void reports_whenReadBetweenCommitAndLedgerApply_thenStaleResultIsNotCached() throws Exception {
+        String token = registerAndGetToken("ledger-read-before-apply@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, food, 100, Type.EXPENSE);
+        YearMonth month = YearMonth.now();
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", month.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(100));
+
+        reportBeforeLedgerApply.month = month;
+        try {
+            mockMvc.perform(post("/api/v1/transactions")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                        {"type": "EXPENSE", "amount": 20, "date": "%s", "categoryId": %d}
+                                    """.formatted(LocalDate.now(), food)))
+                    .andExpect(status().isCreated());
+        } finally {
+            reportBeforeLedgerApply.month = null;
+        }
+        assertEquals(1, reportBeforeLedgerApply.reads.get());
+
+        mockMvc.perform(get("/api/v1/reports/period-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", month.atDay(1).toString())
+                        .param("endDate", month.atEndOfMonth().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(120));
+    }
+
+    // reads a report that is not cached yet after the write committed but before the ledger has applied it
+    @TestConfiguration
+    static class ReportBeforeLedgerApplyConfig {
+        @Bean
+        ReportBeforeLedgerApply reportBeforeLedgerApply(ReportService reportService) {
+            return new ReportBeforeLedgerApply(reportService);
+        }
+    }
+
+    static class ReportBeforeLedgerApply {
+        private final ReportService reportService;
+        private final AtomicInteger reads = new AtomicInteger();
+        private volatile YearMonth month;
+
+        ReportBeforeLedgerApply(ReportService reportService) {
+            this.reportService = reportService;
+        }
+
+        @TransactionalEventListener
+        @Order(LedgerStore.LISTENER_ORDER - 1)
+        public void onTransactionsChanged(TransactionsChangedEvent event) {
+            YearMonth read = month;
+            if (read != null) {
+                reads.incrementAndGet();
+                reportService.getSummaryForPeriod(event.userId(), read.atDay(1), read.atEndOfMonth());
+            }
+        }
+    }
+}
@@ -2,19 +2,46 @@ package com.example.finance_tracker.controllers;
 
 import com.example.finance_tracker.BaseE2ETest;
 import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.migrations.V10__Backfill_amount_sketches;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class ReportControllerTest extends BaseE2ETest {
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    V10__Backfill_amount_sketches backfillAmountSketches;
+
     @Test
     void accessReports_whenJwtIsMissing_thenReturns401() throws Exception {
         mockMvc.perform(get("/api/v1/reports/monthly-summary")
@@ -179,4 +206,591 @@ public class ReportControllerTest extends BaseE2ETest {
                         .param("type", "EXPENSE"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void getMonthlySummary_whenLedgerIsUnchanged_thenReturns304UntilSomethingChanges() throws Exception {
+        String token = registerAndGetToken("monthly-etag@test.com");
+        Long expense = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, expense, 200, Type.EXPENSE);
+
+        String etag = mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/v1/categories/" + expense)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"name": "Groceries", "type": "EXPENSE"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.expense").value(200));
+    }
+
+    @Test
+    void reports_whenTransactionMovesMonthAndCategory_thenRollupFollowsIt() throws Exception {
+        String token = registerAndGetToken("rollup-move@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long travel = createCategory(token, "Travel", Type.EXPENSE);
+        Long txId = createTransaction(token, food, 100, Type.EXPENSE);
+        YearMonth previousMonth = YearMonth.now().minusMonths(1);
+
+        mockMvc.perform(put("/api/v1/transactions/{id}", txId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {
+                                      "type": "EXPENSE",
+                                      "amount": 40,
+                                      "date": "%s",
+                                      "categoryId": %d
+                                    }
+                                """.formatted(previousMonth.atDay(15), travel)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(0));
+
+        mockMvc.perform(get("/api/v1/reports/monthly-category-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", previousMonth.toString())
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].categoryId").value(travel))
+                .andExpect(jsonPath("$[0].total").value(40));
+
+        mockMvc.perform(get("/api/v1/reports/rollups/verify")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void reports_whenCategoryAndTransactionsAreDeleted_thenRollupStaysConsistent() throws Exception {
+        String token = registerAndGetToken("rollup-delete@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long rent = createCategory(token, "Rent", Type.EXPENSE);
+        createTransaction(token, food, 100, Type.EXPENSE);
+        createTransaction(token, rent, 500, Type.EXPENSE);
+
+        mockMvc.perform(delete("/api/v1/categories/{id}", food)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/reports/monthly-category-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString())
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].categoryId").value(rent));
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(600));
+
+        mockMvc.perform(post("/api/v1/transactions/bulk-delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"categoryId": %d}
+                                """.formatted(rent)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(100));
+
+        mockMvc.perform(get("/api/v1/reports/rollups/verify")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getPeriodSummary_whenPeriodStartsMidMonth_thenPartialMonthsAreCountedByDay() throws Exception {
+        String token = registerAndGetToken("rollup-period@test.com");
+        Long expense = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, expense, 10, Type.EXPENSE, LocalDate.of(2024, 3, 10));
+        createTransaction(token, expense, 20, Type.EXPENSE, LocalDate.of(2024, 3, 20));
+        createTransaction(token, expense, 40, Type.EXPENSE, LocalDate.of(2024, 4, 5));
+        createTransaction(token, expense, 80, Type.EXPENSE, LocalDate.of(2024, 5, 1));
+
+        mockMvc.perform(get("/api/v1/reports/period-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-03-15")
+                        .param("endDate", "2024-04-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(60));
+    }
+
+    @Test
+    void rebuildRollups_whenCalled_thenReportsAreUnchanged() throws Exception {
+        String token = registerAndGetToken("rollup-rebuild@test.com");
+        Long expense = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, expense, 200, Type.EXPENSE);
+
+        mockMvc.perform(post("/api/v1/reports/rollups/rebuild")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/reports/rollups/verify")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(200));
+    }
+
+    @Test
+    void getSummaryBatch_whenMonthsAndPeriodsRequested_thenEachIsSummarizedInRequestOrder() throws Exception {
+        String token = registerAndGetToken("summary-batch@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, salary, 1000, Type.INCOME, LocalDate.of(2024, 1, 5));
+        createTransaction(token, food, 100, Type.EXPENSE, LocalDate.of(2024, 1, 20));
+        createTransaction(token, food, 50, Type.EXPENSE, LocalDate.of(2024, 2, 3));
+        createTransaction(token, salary, 1200, Type.INCOME, LocalDate.of(2024, 3, 5));
+
+        mockMvc.perform(get("/api/v1/reports/summary-batch")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", "2024-02", "2024-01", "2024-04")
+                        .param("startDate", "2024-01-10", "2024-02-01")
+                        .param("endDate", "2024-03-31", "2024-02-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months", hasSize(3)))
+                .andExpect(jsonPath("$.months[0].month").value("2024-02"))
+                .andExpect(jsonPath("$.months[0].expense").value(50))
+                .andExpect(jsonPath("$.months[0].transactionCount").value(1))
+                .andExpect(jsonPath("$.months[1].income").value(1000))
+                .andExpect(jsonPath("$.months[1].expense").value(100))
+                .andExpect(jsonPath("$.months[1].balance").value(900))
+                .andExpect(jsonPath("$.months[1].transactionCount").value(2))
+                .andExpect(jsonPath("$.months[2].transactionCount").value(0))
+                .andExpect(jsonPath("$.periods", hasSize(2)))
+                .andExpect(jsonPath("$.periods[0].income").value(1200))
+                .andExpect(jsonPath("$.periods[0].expense").value(150))
+                .andExpect(jsonPath("$.periods[0].transactionCount").value(3))
+                .andExpect(jsonPath("$.periods[1].expense").value(0))
+                .andExpect(jsonPath("$.periods[1].transactionCount").value(0));
+    }
+
+    @Test
+    void getSummaryBatch_whenStartAndEndDatesDoNotPair_thenReturns400() throws Exception {
+        String token = registerAndGetToken("summary-batch-invalid@test.com");
+
+        mockMvc.perform(get("/api/v1/reports/summary-batch")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-01", "2024-02-01")
+                        .param("endDate", "2024-01-31"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/reports/summary-batch")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMonthlySummary_whenCachedMonthChanges_thenFreshResultIsReturned() throws Exception {
+        String token = registerAndGetToken("report-cache@test.com");
+        Long expense = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, expense, 200, Type.EXPENSE);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                            .header("Authorization", "Bearer " + token)
+                            .param("month", YearMonth.now().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.expense").value(200));
+        }
+
+        createTransaction(token, expense, 50, Type.EXPENSE);
+
+        mockMvc.perform(get("/api/v1/reports/monthly-summary")
+                        .header("Authorization", "Bearer " + token)
+                        .param("month", YearMonth.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expense").value(250));
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .header("Authorization", "Bearer " + token)
+                        .param("tag", "cache:reports", "result:hit"))
+                .andExpect(status().isForbidden());
+
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE email = ?", "report-cache@test.com");
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .header("Authorization", "Bearer " + token)
+                        .param("tag", "cache:reports", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+    }
+
+    @Test
+    void getTrend_whenGranularityIsWeekOrQuarter_thenBucketsCoverWholePeriodsAndGapsAreZero() throws Exception {
+        String token = registerAndGetToken("trend-combined@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, salary, 1000, Type.INCOME, LocalDate.of(2024, 1, 2));
+        createTransaction(token, food, 100, Type.EXPENSE, LocalDate.of(2024, 1, 16));
+        createTransaction(token, food, 50, Type.EXPENSE, LocalDate.of(2024, 3, 3));
+
+        mockMvc.perform(get("/api/v1/reports/trend")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-01-03")
+                        .param("to", "2024-01-20")
+                        .param("granularity", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].start").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].income").value(1000))
+                .andExpect(jsonPath("$[0].net").value(1000))
+                .andExpect(jsonPath("$[1].start").value("2024-01-08"))
+                .andExpect(jsonPath("$[1].transactionCount").value(0))
+                .andExpect(jsonPath("$[2].expense").value(100))
+                .andExpect(jsonPath("$[2].net").value(-100));
+
+        mockMvc.perform(get("/api/v1/reports/trend")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-02-10")
+                        .param("to", "2024-12-01")
+                        .param("granularity", "quarter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].start").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].income").value(1000))
+                .andExpect(jsonPath("$[0].expense").value(150))
+                .andExpect(jsonPath("$[0].net").value(850))
+                .andExpect(jsonPath("$[0].transactionCount").value(3))
+                .andExpect(jsonPath("$[3].start").value("2024-10-01"))
+                .andExpect(jsonPath("$[3].expense").value(0));
+    }
+
+    @Test
+    void getTrend_whenFirstBucketStartsInPreviousMonth_thenChangesThereAreNotServedFromCache() throws Exception {
+        String token = registerAndGetToken("trend-cache-edge@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+
+        for (int expected : new int[]{0, 300}) {
+            mockMvc.perform(get("/api/v1/reports/trend")
+                            .header("Authorization", "Bearer " + token)
+                            .param("from", "2024-10-01")
+                            .param("to", "2024-10-13")
+                            .param("granularity", "week"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].start").value("2024-09-30"))
+                    .andExpect(jsonPath("$[0].income").value(expected));
+            createTransaction(token, salary, 300, Type.INCOME, LocalDate.of(2024, 9, 30));
+        }
+    }
+
+    @Test
+    void getTrend_whenTooManyBuckets_thenReturns400() throws Exception {
+        String token = registerAndGetToken("trend-too-long@test.com");
+
+        mockMvc.perform(get("/api/v1/reports/trend")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2000-01-01")
+                        .param("to", "2024-01-01")
+                        .param("granularity", "day"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTopCategories_whenMoreCategoriesThanLimit_thenRestIsGroupedAsOther() throws Exception {
+        String token = registerAndGetToken("top-categories@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long rent = createCategory(token, "Rent", Type.EXPENSE);
+        Long fun = createCategory(token, "Fun", Type.EXPENSE);
+        Long travel = createCategory(token, "Travel", Type.EXPENSE);
+        createTransaction(token, food, 300, Type.EXPENSE, LocalDate.of(2024, 1, 10));
+        createTransaction(token, fun, 50, Type.EXPENSE, LocalDate.of(2024, 1, 31));
+        createTransaction(token, rent, 500, Type.EXPENSE, LocalDate.of(2024, 2, 1));
+        createTransaction(token, food, 100, Type.EXPENSE, LocalDate.of(2024, 2, 20));
+        createTransaction(token, travel, 20, Type.EXPENSE, LocalDate.of(2024, 2, 28));
+
+        mockMvc.perform(get("/api/v1/reports/top-categories")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-02-29")
+                        .param("type", "EXPENSE")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(970))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].categoryId").value(rent))
+                .andExpect(jsonPath("$.items[0].name").value("Rent"))
+                .andExpect(jsonPath("$.items[0].percentage").value(51.55))
+                .andExpect(jsonPath("$.items[1].total").value(400))
+                .andExpect(jsonPath("$.other.total").value(70))
+                .andExpect(jsonPath("$.other.percentage").value(7.22));
+
+        mockMvc.perform(get("/api/v1/reports/top-categories")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-15")
+                        .param("endDate", "2024-02-29")
+                        .param("type", "EXPENSE")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(670))
+                .andExpect(jsonPath("$.items[1].categoryId").value(food))
+                .andExpect(jsonPath("$.items[1].total").value(100))
+                .andExpect(jsonPath("$.items[2].categoryId").value(fun))
+                .andExpect(jsonPath("$.other.total").value(20));
+
+        mockMvc.perform(get("/api/v1/reports/top-categories")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-02-02")
+                        .param("endDate", "2024-02-28")
+                        .param("type", "EXPENSE")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].categoryId").value(food))
+                .andExpect(jsonPath("$.other.total").value(20));
+    }
+
+    @Test
+    void getTopCategories_whenRollupHasRowsOfAMissingCategory_thenTheyDoNotTakeAPlace() throws Exception {
+        String token = registerAndGetToken("top-categories-orphan@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, food, 300, Type.EXPENSE, LocalDate.of(2024, 1, 10));
+        jdbcTemplate.update("""
+                INSERT INTO monthly_rollups (user_id, month_start, type, category_id, total, tx_count)
+                SELECT id, DATE '2024-01-01', 'EXPENSE', 999999999, 1000, 1 FROM users WHERE email = ?
+                """, "top-categories-orphan@test.com");
+
+        mockMvc.perform(get("/api/v1/reports/top-categories")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-01-31")
+                        .param("type", "EXPENSE")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].categoryId").value(food))
+                .andExpect(jsonPath("$.items[0].total").value(300));
+    }
+
+    @Test
+    void getTopDescriptions_whenDescriptionsDifferInCase_thenTheyAreRankedAsOne() throws Exception {
+        String token = registerAndGetToken("top-descriptions@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"type": "EXPENSE", "amount": 5, "date": "%1$s", "description": "Coffee", "categoryId": %2$d},
+                                  {"type": "EXPENSE", "amount": 7, "date": "%1$s", "description": "coffee", "categoryId": %2$d},
+                                  {"type": "EXPENSE", "amount": 10, "date": "%1$s", "description": "Lunch", "categoryId": %2$d},
+                                  {"type": "EXPENSE", "amount": 3, "date": "%1$s", "categoryId": %2$d}
+                                ]
+                                """.formatted(today, food)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/reports/top-descriptions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", today.toString())
+                        .param("endDate", today.toString())
+                        .param("type", "EXPENSE")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(25))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Coffee"))
+                .andExpect(jsonPath("$.items[0].total").value(12))
+                .andExpect(jsonPath("$.items[0].percentage").value(48.00))
+                .andExpect(jsonPath("$.other.name").value("Other"))
+                .andExpect(jsonPath("$.other.total").value(13));
+    }
+
+    @Test
+    void getTopCategories_whenLimitIsTooLarge_thenReturns400() throws Exception {
+        String token = registerAndGetToken("top-categories-limit@test.com");
+
+        mockMvc.perform(get("/api/v1/reports/top-categories")
+                        .header("Authorization", "Bearer " + token)
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-01-31")
+                        .param("type", "EXPENSE")
+                        .param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAmountDistribution_whenTransactionsChange_thenQuantilesFollowWithinTheErrorBound() throws Exception {
+        String token = registerAndGetToken("amount-distribution@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long rent = createCategory(token, "Rent", Type.EXPENSE);
+        StringBuilder batch = new StringBuilder("[");
+        for (int amount = 1; amount <= 100; amount++) {
+            batch.append(amount > 1 ? "," : "").append("""
+                    {"type": "EXPENSE", "amount": %d, "date": "2024-03-%02d", "categoryId": %d}
+                    """.formatted(amount, 1 + amount % 28, food));
+        }
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch.append("]").toString()))
+                .andExpect(status().isCreated());
+        createTransaction(token, rent, 800, Type.EXPENSE, LocalDate.of(2024, 4, 1));
+
+        mockMvc.perform(get("/api/v1/reports/amount-distribution")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-03")
+                        .param("to", "2024-03")
+                        .param("type", "EXPENSE")
+                        .param("categoryId", food.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(100))
+                .andExpect(jsonPath("$.median").value(closeTo(50.0, 0.4)))
+                .andExpect(jsonPath("$.p90").value(closeTo(90.0, 0.71)))
+                .andExpect(jsonPath("$.p99").value(closeTo(99.0, 0.78)))
+                .andExpect(jsonPath("$.histogram[0].from").value(0.64))
+                .andExpect(jsonPath("$.histogram[0].count").value(1));
+
+        mockMvc.perform(post("/api/v1/transactions/bulk-delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"startDate": "2024-03-01", "endDate": "2024-03-14"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/reports/amount-distribution")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-03")
+                        .param("to", "2024-04")
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(46))
+                .andExpect(jsonPath("$.p99").value(closeTo(800.0, 6.3)));
+
+        mockMvc.perform(post("/api/v1/reports/rollups/rebuild")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/reports/amount-distribution")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-03")
+                        .param("to", "2024-04")
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(46));
+    }
+
+    @Test
+    void getAmountDistribution_whenTransactionsPredateTheSketches_thenBackfillCountsThem() throws Exception {
+        String token = registerAndGetToken("amount-distribution-backfill@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long first = createTransaction(token, food, 10, Type.EXPENSE);
+        createTransaction(token, food, 20, Type.EXPENSE);
+        createTransaction(token, food, 30, Type.EXPENSE);
+        jdbcTemplate.update("""
+                DELETE FROM amount_sketches
+                WHERE user_id = (SELECT id FROM users WHERE email = 'amount-distribution-backfill@test.com')
+                """);
+
+        try (Connection connection = dataSource.getConnection()) {
+            backfillAmountSketches.migrate(new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return null;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+            });
+        }
+        mockMvc.perform(delete("/api/v1/transactions/" + first)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/reports/amount-distribution")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", YearMonth.now().toString())
+                        .param("to", YearMonth.now().toString())
+                        .param("type", "EXPENSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(2))
+                .andExpect(jsonPath("$.median").value(closeTo(20.0, 0.16)));
+    }
+
+    @Test
+    void getBalanceSeries_whenGranularityIsMonth_thenEachPointIsTheRunningBalance() throws Exception {
+        String token = registerAndGetToken("balance-series@test.com");
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, salary, 1000, Type.INCOME, LocalDate.of(2023, 12, 20));
+        createTransaction(token, food, 100, Type.EXPENSE, LocalDate.of(2024, 1, 15));
+        createTransaction(token, food, 50, Type.EXPENSE, LocalDate.of(2024, 3, 3));
+
+        mockMvc.perform(get("/api/v1/reports/balance-series")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-03-10")
+                        .param("granularity", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].date").value("2024-01-31"))
+                .andExpect(jsonPath("$[0].balance").value(900))
+                .andExpect(jsonPath("$[1].date").value("2024-02-29"))
+                .andExpect(jsonPath("$[1].balance").value(900))
+                .andExpect(jsonPath("$[2].date").value("2024-03-10"))
+                .andExpect(jsonPath("$[2].balance").value(850));
+
+        mockMvc.perform(get("/api/v1/reports/balance-series")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-01-14")
+                        .param("to", "2024-01-16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].balance").value(1000))
+                .andExpect(jsonPath("$[1].balance").value(900));
+    }
+
+    @Test
+    void getBalanceSeries_whenGranularityIsUnknown_thenReturns400() throws Exception {
+        String token = registerAndGetToken("balance-series-invalid@test.com");
+
+        mockMvc.perform(get("/api/v1/reports/balance-series")
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31")
+                        .param("granularity", "hour"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -4,12 +4,20 @@ import com.example.finance_tracker.BaseE2ETest;
 import com.example.finance_tracker.common.Type;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class TransactionControllerTest extends BaseE2ETest {
@@ -45,6 +53,192 @@ class TransactionControllerTest extends BaseE2ETest {
                 .andExpect(jsonPath("$.categoryId").value(categoryId));
     }
 
+    @Test
+    void createTransactionsBatch_whenAllValid_thenReturns201WithEveryTransaction() throws Exception {
+        String token = registerAndGetToken("tx-batch@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    [
+                                      {"type": "EXPENSE", "amount": 12.5, "date": "%s", "categoryId": %d},
+                                      {"type": "INCOME", "amount": 1000, "date": "%s", "categoryId": %d},
+                                      {"type": "EXPENSE", "amount": 7, "date": "%s", "categoryId": %d}
+                                    ]
+                                """.formatted(LocalDate.now(), food, LocalDate.now(), salary,
+                                LocalDate.now().minusDays(3), food)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[1].categoryId").value(salary));
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void createTransactionsBatch_whenOneRowIsInvalid_thenReturns400AndCreatesNothing() throws Exception {
+        String token = registerAndGetToken("tx-batch-invalid@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    [
+                                      {"type": "EXPENSE", "amount": 10, "date": "%s", "categoryId": %d},
+                                      {"type": "EXPENSE", "amount": 10, "date": "%s", "categoryId": %d}
+                                    ]
+                                """.formatted(LocalDate.now(), food, LocalDate.now().plusDays(2), food)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void createTransactionsBatch_whenCategoryBelongsToAnotherUser_thenReturns404() throws Exception {
+        String ownerToken = registerAndGetToken("tx-batch-owner@test.com");
+        String attackerToken = registerAndGetToken("tx-batch-attacker@test.com");
+        Long ownerCategory = createCategory(ownerToken, "Private", Type.EXPENSE);
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + attackerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    [
+                                      {"type": "EXPENSE", "amount": 10, "date": "%s", "categoryId": %d}
+                                    ]
+                                """.formatted(LocalDate.now(), ownerCategory)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void importTransactions_whenOneLineIsInvalid_thenImportsTheRestAndReportsIt() throws Exception {
+        String token = registerAndGetToken("tx-import@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        createCategory(token, "Salary", Type.INCOME);
+
+        MvcResult result = mockMvc.perform(post("/api/v1/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .param("defaultCategoryId", food.toString())
+                        .contentType("text/csv")
+                        .content("""
+                                Date,Amount,Description,Category
+                                %s,-12.50,"Groceries, weekly",
+                                %s,1000,Payroll,salary
+                                not-a-date,5,Broken,
+                                %s,-3,"Coffee \"\"to go\"\"",Food
+                                """.formatted(LocalDate.now(), LocalDate.now(), LocalDate.now().minusDays(1))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"event\":\"error\",\"line\":4,\"message\":\"Date 'not-a-date' does not match the expected format\"}",
+                lines[0]);
+        assertEquals("{\"event\":\"completed\",\"linesRead\":4,\"imported\":3,\"failed\":1}", lines[1]);
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].type").value("INCOME"))
+                .andExpect(jsonPath("$[1].description").value("Groceries, weekly"))
+                .andExpect(jsonPath("$[2].description").value("Coffee \"to go\""));
+    }
+
+    @Test
+    void importTransactions_whenRequiredColumnIsMissing_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-import-header@test.com");
+
+        mockMvc.perform(post("/api/v1/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("""
+                                Date,Description
+                                %s,Groceries
+                                """.formatted(LocalDate.now())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("CSV header must contain 'date' and 'amount' columns"));
+    }
+
+    @Test
+    void importTransactions_whenDateFormatIsInvalid_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-import-format@test.com");
+
+        mockMvc.perform(post("/api/v1/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .param("dateFormat", "yyyy-MM-dd{")
+                        .contentType("text/csv")
+                        .content("""
+                                Date,Amount
+                                %s,5
+                                """.formatted(LocalDate.now())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Date format 'yyyy-MM-dd{' is not a valid pattern"));
+    }
+
+    @Test
+    void importTransactions_whenFieldIsTooLong_thenReturns400WithLine() throws Exception {
+        String token = registerAndGetToken("tx-import-long@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+
+        mockMvc.perform(post("/api/v1/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .param("defaultCategoryId", food.toString())
+                        .contentType("text/csv")
+                        .content("""
+                                Date,Amount,Description
+                                %s,5,ok
+                                %s,5,"%s"
+                                """.formatted(LocalDate.now(), LocalDate.now(), "x".repeat(1025))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Line 3 has a field longer than 1024 characters"));
+    }
+
+    @Test
+    void importTransactions_whenFieldIsTooLongAfterAnError_thenStreamsItWithTheSummary() throws Exception {
+        String token = registerAndGetToken("tx-import-long-streamed@test.com");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("""
+                                Date,Amount,Description
+                                %s,5,ok
+                                %s,5,"%s"
+                                """.formatted(LocalDate.now(), LocalDate.now(), "x".repeat(1025))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("{\"event\":\"error\",\"line\":2,\"message\":\"Category is mandatory\"}", lines[0]);
+        assertEquals("{\"event\":\"error\",\"line\":3,\"message\":\"Line 3 has a field longer than 1024 characters\"}",
+                lines[1]);
+        assertEquals("{\"event\":\"completed\",\"linesRead\":2,\"imported\":0,\"failed\":2}", lines[2]);
+    }
+
+    @Test
+    void importTransactions_whenRecordHasTooManyFields_thenReturns400WithLine() throws Exception {
+        String token = registerAndGetToken("tx-import-wide@test.com");
+
+        mockMvc.perform(post("/api/v1/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("Date,Amount\n" + LocalDate.now() + ",5" + ",".repeat(40) + "\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Line 2 has more than 32 fields"));
+    }
+
     @Test
     void createTransaction_whenAmountIsNegative_thenReturns400() throws Exception {
         String token = registerAndGetToken("tx-neg@test.com");
@@ -98,6 +292,100 @@ class TransactionControllerTest extends BaseE2ETest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void getTransactions_whenMoreThanLimitExist_thenReturnsPagesNewestFirst() throws Exception {
+        String token = registerAndGetToken("tx-pages@test.com");
+        Long category = createCategory(token, "Food", Type.EXPENSE);
+
+        createTransaction(token, category, 10, Type.EXPENSE, LocalDate.now().minusDays(2));
+        createTransaction(token, category, 20, Type.EXPENSE, LocalDate.now().minusDays(1));
+        createTransaction(token, category, 30, Type.EXPENSE, LocalDate.now().minusDays(1));
+
+        String cursor = mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].amount").value(30))
+                .andExpect(jsonPath("$[1].amount").value(20))
+                .andReturn()
+                .getResponse()
+                .getHeader(TransactionController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].amount").value(10))
+                .andExpect(header().doesNotExist(TransactionController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getTransactions_whenCursorIsMalformed_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-bad-cursor@test.com");
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransactions_whenLimitExceedsMaximum_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-big-limit@test.com");
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "10000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamTransactions_whenNdjsonRequested_thenWritesOneLinePerTransaction() throws Exception {
+        String token = registerAndGetToken("tx-ndjson@test.com");
+        Long category = createCategory(token, "Food", Type.EXPENSE);
+
+        createTransaction(token, category, 10, Type.EXPENSE, LocalDate.now().minusDays(1));
+        createTransaction(token, category, 20, Type.EXPENSE);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(20, objectMapper.readTree(lines[0]).get("amount").asInt());
+        assertEquals(10, objectMapper.readTree(lines[1]).get("amount").asInt());
+    }
+
+    @Test
+    void streamTransactionsByDateRange_whenStartIsAfterEnd_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-ndjson-dates@test.com");
+
+        MvcResult result = mockMvc.perform(get("/api/v1/transactions/dates")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("startDate", LocalDate.now().toString())
+                        .param("endDate", LocalDate.now().minusDays(5).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getTransactionsByType_whenMixedTypesExist_thenReturnsOnlyRequestedType() throws Exception {
         String token = registerAndGetToken("tx-type-full@test.com");
@@ -178,6 +466,140 @@ class TransactionControllerTest extends BaseE2ETest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void searchTransactions_whenFiltersAreCombined_thenReturnsOnlyMatchesWithTotalCount() throws Exception {
+        String token = registerAndGetToken("tx-search@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long fun = createCategory(token, "Fun", Type.EXPENSE);
+        Long salary = createCategory(token, "Salary", Type.INCOME);
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    [
+                                      {"type": "EXPENSE", "amount": 12, "date": "%1$s", "description": "Coffee beans", "categoryId": %2$d},
+                                      {"type": "EXPENSE", "amount": 80, "date": "%1$s", "description": "Coffee machine", "categoryId": %2$d},
+                                      {"type": "EXPENSE", "amount": 15, "date": "%1$s", "description": "Cinema", "categoryId": %3$d},
+                                      {"type": "EXPENSE", "amount": 20, "date": "%4$s", "description": "Iced coffee", "categoryId": %3$d},
+                                      {"type": "INCOME", "amount": 30, "date": "%1$s", "description": "Coffee refund", "categoryId": %5$d}
+                                    ]
+                                """.formatted(LocalDate.now(), food, fun, LocalDate.now().minusDays(40), salary)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/transactions/search")
+                        .header("Authorization", "Bearer " + token)
+                        .param("type", "EXPENSE")
+                        .param("categoryId", food.toString(), fun.toString())
+                        .param("startDate", LocalDate.now().minusDays(7).toString())
+                        .param("endDate", LocalDate.now().toString())
+                        .param("minAmount", "10")
+                        .param("maxAmount", "50")
+                        .param("q", "COFFEE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TransactionController.TOTAL_COUNT_HEADER, "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].description").value("Coffee beans"));
+    }
+
+    @Test
+    void searchTransactions_whenCountIsDisabled_thenPagesWithoutTotal() throws Exception {
+        String token = registerAndGetToken("tx-search-paging@test.com");
+        Long categoryId = createCategory(token, "Food", Type.EXPENSE);
+        createTransaction(token, categoryId, 10, Type.EXPENSE);
+        createTransaction(token, categoryId, 20, Type.EXPENSE);
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/transactions/search")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "1")
+                        .param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TransactionController.TOTAL_COUNT_HEADER))
+                .andExpect(jsonPath("$[0].amount").value(20))
+                .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader(TransactionController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        mockMvc.perform(get("/api/v1/transactions/search")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "1")
+                        .param("count", "false")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TransactionController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].amount").value(10));
+    }
+
+    @Test
+    void searchTransactions_whenMinAmountExceedsMax_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-search-amounts@test.com");
+
+        mockMvc.perform(get("/api/v1/transactions/search")
+                        .header("Authorization", "Bearer " + token)
+                        .param("minAmount", "100")
+                        .param("maxAmount", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchTransactionsByText_whenTransactionsChange_thenIndexFollows() throws Exception {
+        String token = registerAndGetToken("tx-text-search@test.com");
+        Long categoryId = createCategory(token, "Transport", Type.EXPENSE);
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    [
+                                      {"type": "EXPENSE", "amount": 12, "date": "%1$s", "description": "Uber ride home", "categoryId": %2$d},
+                                      {"type": "EXPENSE", "amount": 900, "date": "%1$s", "description": "Rent March", "categoryId": %2$d}
+                                    ]
+                                """.formatted(LocalDate.now(), categoryId)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/transactions/search/text")
+                        .header("Authorization", "Bearer " + token)
+                        .param("q", "ub"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].description").value("Uber ride home"));
+
+        String created = mockMvc.perform(post("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"type": "EXPENSE", "amount": 20, "date": "%s", "description": "Uber Eats", "categoryId": %d}
+                                """.formatted(LocalDate.now(), categoryId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long createdId = extractId(created);
+
+        mockMvc.perform(get("/api/v1/transactions/search/text")
+                        .header("Authorization", "Bearer " + token)
+                        .param("q", "uber"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(delete("/api/v1/transactions/" + createdId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/transactions/search/text")
+                        .header("Authorization", "Bearer " + token)
+                        .param("q", "uber eats"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void searchTransactionsByText_whenQueryHasNoWords_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-text-search-empty@test.com");
+
+        mockMvc.perform(get("/api/v1/transactions/search/text")
+                        .header("Authorization", "Bearer " + token)
+                        .param("q", "  -- "))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateTransaction_whenTransactionBelongsToUser_thenReturns200() throws Exception {
         String token = registerAndGetToken("tx-update@test.com");
@@ -241,5 +663,116 @@ class TransactionControllerTest extends BaseE2ETest {
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    void bulkDeleteTransactions_byIds_thenDeletesOnlyOwnTransactions() throws Exception {
+        String ownerToken = registerAndGetToken("tx-bulk-owner@test.com");
+        String otherToken = registerAndGetToken("tx-bulk-other@test.com");
+        Long ownerCategory = createCategory(ownerToken, "Food", Type.EXPENSE);
+        Long otherCategory = createCategory(otherToken, "Food", Type.EXPENSE);
+        Long first = createTransaction(ownerToken, ownerCategory, 10, Type.EXPENSE);
+        Long second = createTransaction(ownerToken, ownerCategory, 20, Type.EXPENSE);
+        createTransaction(ownerToken, ownerCategory, 30, Type.EXPENSE);
+        Long foreign = createTransaction(otherToken, otherCategory, 40, Type.EXPENSE);
+
+        mockMvc.perform(post("/api/v1/transactions/bulk-delete")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"ids": [%d, %d, %d]}
+                                """.formatted(first, second, foreign)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].amount").value(30));
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void bulkDeleteTransactions_byDateRangeAndCategory_thenDeletesMatchingRows() throws Exception {
+        String token = registerAndGetToken("tx-bulk-range@test.com");
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long fun = createCategory(token, "Fun", Type.EXPENSE);
+        createTransaction(token, food, 10, Type.EXPENSE, LocalDate.now().minusDays(30));
+        createTransaction(token, food, 20, Type.EXPENSE, LocalDate.now().minusDays(20));
+        createTransaction(token, food, 30, Type.EXPENSE, LocalDate.now());
+        createTransaction(token, fun, 40, Type.EXPENSE, LocalDate.now());
+
+        mockMvc.perform(post("/api/v1/transactions/bulk-delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"startDate": "%s", "endDate": "%s"}
+                                """.formatted(LocalDate.now().minusDays(35), LocalDate.now().minusDays(10))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(post("/api/v1/transactions/bulk-delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"categoryId": %d}
+                                """.formatted(fun)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].amount").value(30));
+    }
+
+    @Test
+    void bulkDeleteTransactions_whenSeveralSelectorsAreGiven_thenReturns400() throws Exception {
+        String token = registerAndGetToken("tx-bulk-invalid@test.com");
+
+        mockMvc.perform(post("/api/v1/transactions/bulk-delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                    {"ids": [1], "categoryId": 1}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransactions_whenIfNoneMatchIsCurrent_thenReturns304() throws Exception {
+        String token = registerAndGetToken("tx-etag@test.com");
+        Long categoryId = createCategory(token, "Food", Type.EXPENSE);
+        Long transactionId = createTransaction(token, categoryId, 10, Type.EXPENSE);
+
+        String etag = mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("ETag", not(etag)));
+
+        mockMvc.perform(delete("/api/v1/transactions/" + transactionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
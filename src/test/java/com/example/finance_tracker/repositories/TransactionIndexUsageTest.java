@@ -0,0 +1,303 @@
+package com.example.finance_tracker.repositories;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.models.DateRange;
+import com.example.finance_tracker.models.TransactionSearchCriteria;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionIndexUsageTest extends BaseE2ETest {
+
+    private static final int USERS = 20;
+    private static final int CATEGORIES_PER_USER = 5;
+    private static final int TRANSACTIONS_PER_USER = 200;
+    private static final int ROLLUP_MONTHS = 8;
+    private static final Limit PAGE = Limit.of(101);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    ReportRepository reportRepository;
+
+    @Autowired
+    MonthlyRollupRepository monthlyRollupRepository;
+
+    private long userId;
+    private long categoryId;
+
+    @BeforeAll
+    void seed() {
+        List<Long> userIds = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            String email = "index-usage-" + u + "-" + System.nanoTime() + "@test.com";
+            jdbcTemplate.update("INSERT INTO users (email, user_name, password) VALUES (?, 'idx', 'password123')",
+                    email);
+            userIds.add(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email));
+        }
+
+        // ids come from the table generator, so reserve a block the application will not hand out
+        long nextId = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generators WHERE name = 'transactions'", Long.class);
+        jdbcTemplate.update("UPDATE id_generators SET next_val = next_val + ? WHERE name = 'transactions'",
+                USERS * TRANSACTIONS_PER_USER);
+
+        for (Long user : userIds) {
+            List<Long> categoryIds = new ArrayList<>();
+            for (int c = 0; c < CATEGORIES_PER_USER; c++) {
+                jdbcTemplate.update("INSERT INTO categories (user_id, name, type) VALUES (?, ?, 'EXPENSE')",
+                        user, "c" + c);
+            }
+            categoryIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT id FROM categories WHERE user_id = ?", Long.class, user));
+
+            List<Object[]> rows = new ArrayList<>();
+            for (int t = 0; t < TRANSACTIONS_PER_USER; t++) {
+                rows.add(new Object[]{
+                        nextId++,
+                        user,
+                        categoryIds.get(t % categoryIds.size()),
+                        t % 2 == 0 ? "EXPENSE" : "INCOME",
+                        10 + t,
+                        LocalDate.now().minusDays(t)
+                });
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO transactions (id, user_id, category_id, type, amount, date) VALUES (?, ?, ?, ?, ?, ?)",
+                    rows);
+
+            List<Object[]> rollups = new ArrayList<>();
+            for (int m = 0; m < ROLLUP_MONTHS; m++) {
+                for (Type type : Type.values()) {
+                    for (Long category : categoryIds) {
+                        rollups.add(new Object[]{user, LocalDate.now().withDayOfMonth(1).minusMonths(m), type.name(),
+                                category, 100 + m, 5});
+                    }
+                }
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO monthly_rollups (user_id, month_start, type, category_id, total, tx_count)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """, rollups);
+        }
+
+        jdbcTemplate.execute("ANALYZE TABLE transactions");
+        jdbcTemplate.execute("ANALYZE TABLE monthly_rollups");
+        userId = userIds.getFirst();
+        categoryId = jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE user_id = ?", Long.class, userId).getFirst();
+    }
+
+    @Test
+    void listingByUser_usesUserDateIdIndex() {
+        assertUsesIndex("idx_transactions_user_date_id",
+                () -> transactionRepository.findFirstPageByUser(userId, PAGE));
+    }
+
+    @Test
+    void listingByUserAfterCursor_usesUserDateIdIndex() {
+        assertUsesIndex("idx_transactions_user_date_id",
+                () -> transactionRepository.findPageByUserAfter(userId, LocalDate.now().minusDays(50), 1000L, PAGE));
+    }
+
+    @Test
+    void listingByDateRange_usesUserDateIdIndex() {
+        assertUsesIndex("idx_transactions_user_date_id",
+                () -> transactionRepository.findFirstPageByUserAndDateRange(
+                        userId, LocalDate.now().minusDays(30), LocalDate.now(), PAGE));
+    }
+
+    @Test
+    void listingByType_usesUserTypeDateAmountIndex() {
+        assertUsesIndex("idx_transactions_user_type_date_amount",
+                () -> transactionRepository.findFirstPageByUserAndType(userId, Type.EXPENSE, PAGE));
+    }
+
+    @Test
+    void listingByCategory_usesUserCategoryDateIndex() {
+        assertUsesIndex("idx_transactions_user_category_date",
+                () -> transactionRepository.findFirstPageByUserAndCategory(userId, categoryId, PAGE));
+    }
+
+    @Test
+    void totalsByCategory_usesUserTypeDateAmountIndex() {
+        assertUsesIndex("idx_transactions_user_type_date_amount",
+                () -> reportRepository.totalsByCategory(
+                        userId, Type.INCOME, LocalDate.now().minusMonths(1), LocalDate.now(), Limit.of(5)));
+    }
+
+    @Test
+    void totalsByDescription_usesUserTypeDateAmountIndex() {
+        assertUsesIndex("idx_transactions_user_type_date_amount",
+                () -> reportRepository.totalsByDescription(
+                        userId, Type.EXPENSE, LocalDate.now().minusMonths(1), LocalDate.now(), Limit.of(5)));
+    }
+
+    // the ranges may be answered by a range scan on the date or from the covering type index; both stay on one user
+    @Test
+    void dailyTotals_usesAUserIndex() {
+        assertUsesIndex("transactions", () -> reportRepository.dailyTotals(userId, List.of(
+                        new DateRange(LocalDate.now().minusDays(60), LocalDate.now().minusDays(31)),
+                        new DateRange(LocalDate.now().minusDays(30), LocalDate.now()))),
+                "idx_transactions_user_date_id", "idx_transactions_user_type_date_amount");
+    }
+
+    @Test
+    void searchByTypeAndDateRange_usesUserTypeDateAmountIndex() {
+        assertUsesIndex("idx_transactions_user_type_date_amount",
+                () -> transactionRepository.search(userId, new TransactionSearchCriteria(Type.EXPENSE, null,
+                        LocalDate.now().minusDays(30), LocalDate.now(), null, null, null), null, 101));
+    }
+
+    @Test
+    void searchByCategory_usesUserCategoryDateIndex() {
+        assertUsesIndex("idx_transactions_user_category_date",
+                () -> transactionRepository.search(userId, new TransactionSearchCriteria(null, Set.of(categoryId),
+                        null, null, null, null, null), null, 101));
+    }
+
+    @Test
+    void searchByText_usesUserDateIdIndex() {
+        assertUsesIndex("idx_transactions_user_date_id",
+                () -> transactionRepository.search(userId, new TransactionSearchCriteria(null, null,
+                        null, null, null, null, "coffee"), null, 101));
+    }
+
+    @Test
+    void rollupSummaryByMonthRange_usesPrimaryKey() {
+        assertUsesIndex("monthly_rollups", () -> monthlyRollupRepository.summaryByMonthRange(
+                        userId, LocalDate.now().withDayOfMonth(1).minusMonths(3), LocalDate.now()),
+                "primary");
+    }
+
+    @Test
+    void rollupTotalsByCategory_usesPrimaryKey() {
+        assertUsesIndex("monthly_rollups", () -> monthlyRollupRepository.totalsByCategory(
+                        userId, Type.EXPENSE, LocalDate.now().withDayOfMonth(1).minusMonths(3), LocalDate.now(),
+                        Limit.of(5)),
+                "primary");
+    }
+
+    private void assertUsesIndex(String index, Runnable query) {
+        assertUsesIndex("transactions", query, index);
+    }
+
+    // explains the last statement the repository sent against the table, with the values it bound
+    private void assertUsesIndex(String table, Runnable query, String... indexes) {
+        RecordingDataSource.STATEMENTS.clear();
+        query.run();
+        RecordedStatement statement = RecordingDataSource.STATEMENTS.stream()
+                .filter(recorded -> recorded.sql().toLowerCase().contains(table))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No query against " + table + " was issued"));
+
+        String plan = explain(statement);
+        assertTrue(Arrays.stream(indexes).anyMatch(index -> plan.toLowerCase().contains(index)),
+                () -> "Expected plan of " + statement.sql() + " to use one of " + Arrays.toString(indexes)
+                        + " but was: " + plan);
+    }
+
+    // MySQL reports the chosen index in the "key" column; H2 returns a single PLAN text
+    private String explain(RecordedStatement statement) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                statement.parameters().values().toArray());
+        return rows.stream()
+                .map(row -> row.entrySet().stream()
+                        .filter(column -> !row.containsKey("key") || column.getKey().equalsIgnoreCase("key"))
+                        .map(column -> String.valueOf(column.getValue()))
+                        .collect(Collectors.joining(" ")))
+                .collect(Collectors.joining("\n"));
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RecordingDataSource.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // records every prepared statement with the parameters bound to it by index
+    static final class RecordingDataSource {
+
+        static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, result, args) ->
+                    method.getName().equals("getConnection") ? connection((Connection) result) : result);
+        }
+
+        private static Connection connection(Connection connection) {
+            return proxy(Connection.class, connection, (method, result, args) -> {
+                if (!method.getName().equals("prepareStatement")) {
+                    return result;
+                }
+                RecordedStatement statement = new RecordedStatement((String) args[0], new TreeMap<>());
+                STATEMENTS.add(statement);
+                return proxy(PreparedStatement.class, (PreparedStatement) result, (setter, ignored, values) -> {
+                    if (setter.getName().startsWith("set") && values != null && values.length >= 2
+                            && values[0] instanceof Integer index) {
+                        statement.parameters().put(index, values[1]);
+                    }
+                    return ignored;
+                });
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Interception interception) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                return interception.apply(method, result, args);
+            });
+        }
+
+        private interface Interception {
+            Object apply(Method method, Object result, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.exceptions.ResourceNotFoundException;
+import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionConcurrencyTest extends BaseE2ETest {
+
+    private static final int ROUNDS = 10;
+    private static final int ROWS = 20;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void updateAndDelete_whenRacingOnTheSameRows_thenRollupMatchesTransactions() throws Exception {
+        String email = "concurrent-writes@test.com";
+        String token = registerAndGetToken(email);
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+        Long food = createCategory(token, "Food", Type.EXPENSE);
+        Long rent = createCategory(token, "Rent", Type.EXPENSE);
+        LocalDate today = LocalDate.now();
+        LocalDate lastMonth = today.minusMonths(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Transaction> rows = new ArrayList<>();
+                for (int i = 0; i < ROWS; i++) {
+                    rows.add(new Transaction(null, Type.EXPENSE, BigDecimal.valueOf(10 + i), today, null, food,
+                            userId));
+                }
+                List<Transaction> created = transactionService.createAll(userId, rows);
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> results = new ArrayList<>();
+                List<Long> bulkIds = new ArrayList<>();
+                for (int i = 0; i < created.size(); i++) {
+                    Transaction transaction = created.get(i);
+                    results.add(executor.submit(race(start, () -> transactionService.update(new Transaction(
+                            transaction.getId(), Type.EXPENSE, transaction.getAmount().add(BigDecimal.ONE),
+                            lastMonth, "moved", rent, userId)))));
+                    if (i % 2 == 0) {
+                        results.add(executor.submit(race(start, () -> {
+                            transactionService.delete(transaction.getId(), userId);
+                            return null;
+                        })));
+                    } else {
+                        bulkIds.add(transaction.getId());
+                    }
+                }
+                results.add(executor.submit(race(start, () -> transactionService.deleteByIds(userId, bulkIds))));
+                results.add(executor.submit(race(start, () -> transactionService.deleteByCategory(userId, rent))));
+                results.add(executor.submit(race(start,
+                        () -> transactionService.deleteByDateRange(userId, lastMonth, lastMonth.plusDays(1)))));
+
+                start.countDown();
+                for (Future<?> result : results) {
+                    result.get(30, TimeUnit.SECONDS);
+                }
+
+                assertEquals(List.of(), monthlyRollupService.verify(userId), "rollup drifted in round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // losing the race to a delete or being picked as a deadlock victim leaves the ledger untouched
+    private static Callable<Object> race(CountDownLatch start, Callable<Object> write) {
+        return () -> {
+            start.await();
+            try {
+                return write.call();
+            } catch (ResourceNotFoundException | PessimisticLockingFailureException ex) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.finance_tracker.services;
+
+import com.example.finance_tracker.BaseE2ETest;
+import com.example.finance_tracker.dtos.TransactionResponse;
+import com.example.finance_tracker.entities.TransactionEntity;
+import com.example.finance_tracker.mappers.TransactionMapper;
+import com.example.finance_tracker.repositories.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the entity read path (hydrate {@link TransactionEntity}, map to the model, map to the response)
+ * with the projection read path for a user with 50k transactions.
+ * Runs against the MySQL Testcontainers database of the {@code it} profile; figures are logged per path.
+ * Run with {@code mvn test -Dtest=TransactionReadPathBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionReadPathBenchmarkTest extends BaseE2ETest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionReadPathBenchmarkTest.class);
+
+    private static final int TRANSACTIONS = 50_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    TransactionMapper transactionMapper;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void projectionReadPath_allocatesLessThanEntityReadPath() {
+        long userId = seedUser();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Result entities = measure("entity", () -> readOnly.execute(status -> entityManager
+                .createQuery("""
+                            SELECT t FROM TransactionEntity t
+                            WHERE t.userEntity.id = :userId
+                            ORDER BY t.date DESC, t.id DESC
+                        """, TransactionEntity.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .map(transactionMapper::toModel)
+                .map(transactionMapper::toResponse)
+                .toList()));
+
+        Result projections = measure("projection", () -> readOnly.execute(status -> {
+            List<TransactionResponse> responses = new ArrayList<>(TRANSACTIONS);
+            transactionRepository.streamByUser(userId)
+                    .forEach(view -> responses.add(transactionMapper.toResponse(view, userId)));
+            return responses;
+        }));
+
+        assertTrue(projections.allocatedBytes() < entities.allocatedBytes(),
+                "projection path allocated " + projections.allocatedBytes()
+                        + " bytes, entity path " + entities.allocatedBytes());
+    }
+
+    private Result measure(String name, Supplier<List<TransactionResponse>> read) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(TRANSACTIONS, read.get().size());
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] nanos = new long[MEASURED_ROUNDS];
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            read.get();
+            nanos[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        Arrays.sort(nanos);
+
+        Result result = new Result(nanos[MEASURED_ROUNDS / 2] / 1_000_000, allocated / MEASURED_ROUNDS);
+        log.info("{} median {} ms, {} MB allocated per read", name, result.medianMillis(),
+                String.format("%.1f", result.allocatedBytes() / (1024.0 * 1024.0)));
+        return result;
+    }
+
+    private long seedUser() {
+        String email = "read-path-" + System.nanoTime() + "@test.com";
+        jdbcTemplate.update("INSERT INTO users (email, user_name, password) VALUES (?, 'bench', 'password123')",
+                email);
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        jdbcTemplate.update("INSERT INTO categories (user_id, name, type) VALUES (?, 'Bench', 'EXPENSE')", userId);
+        long categoryId = jdbcTemplate.queryForObject(
+                "SELECT id FROM categories WHERE user_id = ?", Long.class, userId);
+
+        long nextId = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generators WHERE name = 'transactions'", Long.class);
+        jdbcTemplate.update("UPDATE id_generators SET next_val = next_val + ? WHERE name = 'transactions'",
+                TRANSACTIONS);
+
+        List<Object[]> rows = new ArrayList<>(TRANSACTIONS);
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            rows.add(new Object[]{nextId++, userId, categoryId, 10 + t % 500, LocalDate.now().minusDays(t % 3650),
+                    "Transaction " + t});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transactions (id, user_id, category_id, type, amount, date, description)
+                VALUES (?, ?, ?, 'EXPENSE', ?, ?, ?)
+                """, rows);
+        return userId;
+    }
+
+    private record Result(long medianMillis, long allocatedBytes) {
+    }
+}
@@ -1,24 +1,32 @@
 package com.example.finance_tracker.services;
 
+import com.example.finance_tracker.common.Type;
 import com.example.finance_tracker.entities.CategoryEntity;
 import com.example.finance_tracker.entities.TransactionEntity;
 import com.example.finance_tracker.entities.UserEntity;
+import com.example.finance_tracker.events.TransactionsDeletedEvent;
 import com.example.finance_tracker.exceptions.ResourceNotFoundException;
 import com.example.finance_tracker.exceptions.ValidationException;
 import com.example.finance_tracker.mappers.TransactionMapper;
+import com.example.finance_tracker.models.MonthlyTotal;
 import com.example.finance_tracker.models.Transaction;
+import com.example.finance_tracker.projections.LockedMonthlyTotalProjection;
 import com.example.finance_tracker.repositories.CategoryRepository;
 import com.example.finance_tracker.repositories.TransactionRepository;
 import com.example.finance_tracker.repositories.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +44,8 @@ class TransactionServiceImplTest {
     UserRepository userRepository;
     @Mock
     TransactionMapper transactionMapper;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     TransactionServiceImpl transactionService;
@@ -136,4 +146,66 @@ class TransactionServiceImplTest {
         assertDoesNotThrow(() -> transactionService.create(transaction));
         verify(transactionRepository).save(any(TransactionEntity.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAll_shouldReportEveryInvalidTransaction_WithoutTouchingRepositories() {
+        Transaction negative = new Transaction();
+        negative.setAmount(BigDecimal.valueOf(-5));
+        negative.setDate(LocalDate.now());
+        negative.setCategoryId(1L);
+
+        Transaction future = new Transaction();
+        future.setAmount(BigDecimal.TEN);
+        future.setDate(LocalDate.now().plusDays(1));
+        future.setCategoryId(1L);
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> transactionService.createAll(1L, List.of(negative, future)));
+
+        assertTrue(ex.getMessage().contains("Transaction #0: Amount of transaction should be positive"));
+        assertTrue(ex.getMessage().contains("Transaction #1: Setting future dates for transactions is not allowed"));
+        verifyNoInteractions(categoryRepository, userRepository, transactionRepository);
+    }
+
+    @Test
+    void createAll_shouldThrow_WhenAnyCategoryNotFound() {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(BigDecimal.ONE);
+        transaction.setDate(LocalDate.now());
+        transaction.setCategoryId(7L);
+
+        when(categoryRepository.findByUserEntityIdAndIdIn(eq(1L), anyCollection())).thenReturn(List.of());
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.createAll(1L, List.of(transaction)));
+
+        assertTrue(ex.getMessage().contains("Categories with ids [7] were not found for user with id 1"));
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void delete_shouldPublishDeletedId_WhenRowWasRemoved() {
+        when(transactionRepository.lockMonthlyTotalsByUserAndIdIn(1L, List.of(5L))).thenReturn(List.of(
+                new LockedMonthlyTotalProjection(2024, 3, "EXPENSE", 2L, new BigDecimal("12.50"), 1)));
+        when(transactionRepository.deleteByIdAndUser(5L, 1L)).thenReturn(1);
+
+        transactionService.delete(5L, 1L);
+
+        InOrder order = inOrder(transactionRepository);
+        order.verify(transactionRepository).lockMonthlyTotalsByUserAndIdIn(1L, List.of(5L));
+        order.verify(transactionRepository).deleteByIdAndUser(5L, 1L);
+        verifyNoMoreInteractions(transactionRepository);
+        verify(eventPublisher).publishEvent(TransactionsDeletedEvent.byIds(1L, List.of(5L), List.of(
+                new MonthlyTotal(YearMonth.of(2024, 3), Type.EXPENSE, 2L, new BigDecimal("12.50"), 1))));
+    }
+
+    @Test
+    void delete_shouldThrow_WhenTransactionNotFound() {
+        when(transactionRepository.lockMonthlyTotalsByUserAndIdIn(1L, List.of(5L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.delete(5L, 1L));
+
+        verify(transactionRepository, never()).deleteByIdAndUser(5L, 1L);
+        verifyNoInteractions(eventPublisher);
+    }
+}
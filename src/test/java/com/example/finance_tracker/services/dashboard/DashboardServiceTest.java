@@ -0,0 +1,90 @@
+package com.example.finance_tracker.services.dashboard;
+
+import com.example.finance_tracker.exceptions.DeadlineExceededException;
+import com.example.finance_tracker.models.TransactionPage;
+import com.example.finance_tracker.services.ReportService;
+import com.example.finance_tracker.services.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final ReportService reportService = mock(ReportService.class);
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final DashboardService dashboardService = new DashboardService(
+            reportService, transactionService, transactionManager, Duration.ofSeconds(3), 4);
+
+    @Test
+    void getDashboard_shouldRunEveryPartInAReadOnlyTransactionTimingOutWithTheDeadline() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(reportService.getMonthlySummaryByCategory(any(), any(), any())).thenReturn(List.of());
+        when(reportService.getTrend(any(), any(), any(), any())).thenReturn(List.of());
+        when(transactionService.getByUser(eq(1L), any(), anyInt()))
+                .thenReturn(new TransactionPage(List.of(), null, null));
+
+        dashboardService.getDashboard(1L, YearMonth.of(2024, 3), 3, 5);
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        assertEquals(5, definitions.getAllValues().size());
+        for (TransactionDefinition definition : definitions.getAllValues()) {
+            assertTrue(definition.isReadOnly());
+            assertTrue(definition.getTimeout() >= 1 && definition.getTimeout() <= 3,
+                    "timeout " + definition.getTimeout());
+        }
+    }
+
+    @Test
+    void getDashboard_whenAQueryTimesOut_thenReportsTheDeadline() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(reportService.getMonthlySummary(any(), any())).thenThrow(new QueryTimeoutException("timed out"));
+
+        assertThrows(DeadlineExceededException.class,
+                () -> dashboardService.getDashboard(1L, YearMonth.of(2024, 3), 3, 5));
+    }
+
+    @Test
+    void getDashboard_shouldNotOpenMoreTransactionsThanTheConnectionBudget() {
+        DashboardService singleConnection = new DashboardService(
+                reportService, transactionService, transactionManager, Duration.ofSeconds(3), 1);
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> open.decrementAndGet()).when(transactionManager).commit(any());
+        when(reportService.getMonthlySummaryByCategory(any(), any(), any())).thenReturn(List.of());
+        when(reportService.getTrend(any(), any(), any(), any())).thenReturn(List.of());
+        when(transactionService.getByUser(eq(1L), any(), anyInt()))
+                .thenReturn(new TransactionPage(List.of(), null, null));
+
+        singleConnection.getDashboard(1L, YearMonth.of(2024, 3), 3, 5);
+
+        assertEquals(1, maxOpen.get());
+        assertEquals(0, open.get());
+    }
+}
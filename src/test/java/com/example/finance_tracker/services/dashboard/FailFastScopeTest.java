@@ -0,0 +1,65 @@
+package com.example.finance_tracker.services.dashboard;
+
+import com.example.finance_tracker.exceptions.DeadlineExceededException;
+import com.example.finance_tracker.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailFastScopeTest {
+
+    @Test
+    void join_whenEveryTaskSucceeds_thenResultsAreAvailable() {
+        try (FailFastScope scope = new FailFastScope()) {
+            Supplier<Integer> first = scope.fork(() -> 1);
+            Supplier<String> second = scope.fork(() -> "two");
+
+            scope.join(Duration.ofSeconds(5));
+
+            assertEquals(1, first.get());
+            assertEquals("two", second.get());
+        }
+    }
+
+    @Test
+    void join_whenOneTaskFails_thenRethrowsAndInterruptsTheOthers() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FailFastScope scope = new FailFastScope()) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new ValidationException("bad input");
+            });
+
+            assertThrows(ValidationException.class, () -> scope.join(Duration.ofMinutes(1)));
+        }
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void join_whenDeadlinePasses_thenThrowsDeadlineExceeded() {
+        try (FailFastScope scope = new FailFastScope()) {
+            scope.fork(() -> {
+                Thread.sleep(Duration.ofMinutes(1));
+                return null;
+            });
+
+            assertThrows(DeadlineExceededException.class, () -> scope.join(Duration.ofMillis(50)));
+        }
+    }
+}
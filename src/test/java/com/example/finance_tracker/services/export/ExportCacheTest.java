@@ -0,0 +1,139 @@
+package com.example.finance_tracker.services.export;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @TempDir
+    Path cacheDir;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void write_whenLedgerUnchanged_thenServesCachedFile() throws Exception {
+        ExportCache cache = cache(DataSize.ofKilobytes(64));
+
+        assertEquals("rendered 1", write(cache, key(1L, 7)));
+        assertEquals("rendered 1", write(cache, key(1L, 7)));
+        assertEquals(1, renders.get());
+
+        ExportCacheKey gzip = new ExportCacheKey(1L, ExportFormat.CSV, ExportCompression.GZIP, START, END, 7);
+        assertEquals("rendered 2", write(cache, gzip));
+        assertEquals("rendered 3", write(cache, key(2L, 7)));
+    }
+
+    @Test
+    void write_whenLedgerVersionChanges_thenRendersAgainAndDropsOlderVersions() throws Exception {
+        ExportCache cache = cache(DataSize.ofKilobytes(64));
+
+        write(cache, key(1L, 7));
+        write(cache, key(2L, 7));
+        assertEquals("rendered 3", write(cache, key(1L, 8)));
+
+        assertEquals(2, countFiles());
+        assertEquals("rendered 3", write(cache, key(1L, 8)));
+        assertEquals("rendered 2", write(cache, key(2L, 7)));
+    }
+
+    @Test
+    void write_whenCacheIsFull_thenEvictsEntries() throws Exception {
+        ExportCache cache = cache(DataSize.ofBytes(40));
+
+        for (long userId = 1; userId <= 6; userId++) {
+            write(cache, key(userId, 1));
+        }
+
+        assertTrue(countFiles() <= 4, "files " + countFiles());
+    }
+
+    @Test
+    void write_whenExportIsLargerThanEntryLimit_thenIsNotCached() throws Exception {
+        ExportCache cache = cache(DataSize.ofBytes(16));
+
+        assertEquals("rendered 1", write(cache, key(1L, 1)));
+        assertEquals("rendered 2", write(cache, key(1L, 1)));
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void write_whenRenderFails_thenNothingIsCached() throws Exception {
+        ExportCache cache = cache(DataSize.ofKilobytes(64));
+
+        assertThrows(IOException.class, () -> cache.write(key(1L, 1), out -> {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("client went away");
+        }, new ByteArrayOutputStream()));
+
+        assertEquals(0, countFiles());
+        assertEquals("rendered 1", write(cache, key(1L, 1)));
+    }
+
+    @Test
+    void cachingStream_whenCacheFileWriteFails_thenKeepsStreamingToTheClient() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportCache.CachingOutputStream tee = new ExportCache.CachingOutputStream(out, new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("No space left on device");
+            }
+        }, 64);
+
+        tee.write("first".getBytes(StandardCharsets.UTF_8));
+        tee.write(' ');
+        tee.write("second".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("first second", out.toString(StandardCharsets.UTF_8));
+        assertFalse(tee.finish());
+    }
+
+    @Test
+    void write_whenCacheDirectoryIsGone_thenRendersWithoutCaching() throws Exception {
+        ExportCache cache = cache(DataSize.ofKilobytes(64));
+        Files.delete(cacheDir);
+        Files.createFile(cacheDir);
+
+        assertEquals("rendered 1", write(cache, key(1L, 1)));
+        assertEquals("rendered 2", write(cache, key(1L, 1)));
+    }
+
+    private ExportCache cache(DataSize maxSize) {
+        return new ExportCache(cacheDir, maxSize, new SimpleMeterRegistry());
+    }
+
+    private ExportCacheKey key(Long userId, long version) {
+        return new ExportCacheKey(userId, ExportFormat.CSV, ExportCompression.NONE, START, END, version);
+    }
+
+    private String write(ExportCache cache, ExportCacheKey key) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(key, rendered -> rendered.write(("rendered " + renders.incrementAndGet())
+                .getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.list(cacheDir)) {
+            return files.count();
+        }
+    }
+}
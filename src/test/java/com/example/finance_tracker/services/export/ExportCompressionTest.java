@@ -0,0 +1,85 @@
+package com.example.finance_tracker.services.export;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExportCompressionTest {
+
+    @Test
+    void negotiate_shouldPickTheBestAcceptedCoding() {
+        ExportCompression preferred = ExportCompression.ZSTD.isAvailable()
+                ? ExportCompression.ZSTD
+                : ExportCompression.GZIP;
+
+        assertEquals(ExportCompression.NONE, ExportCompression.negotiate(null));
+        assertEquals(ExportCompression.NONE, ExportCompression.negotiate("identity"));
+        assertEquals(ExportCompression.NONE, ExportCompression.negotiate("br, deflate"));
+        assertEquals(ExportCompression.GZIP, ExportCompression.negotiate("gzip, deflate, br"));
+        assertEquals(ExportCompression.GZIP, ExportCompression.negotiate("GZIP;q=0.5"));
+        assertEquals(preferred, ExportCompression.negotiate("gzip, zstd"));
+        assertEquals(preferred, ExportCompression.negotiate("*"));
+        assertEquals(ExportCompression.GZIP, ExportCompression.negotiate("zstd;q=0.2, gzip;q=0.8"));
+        assertEquals(ExportCompression.GZIP, ExportCompression.negotiate("*;q=0.5, zstd;q=0"));
+        assertEquals(ExportCompression.NONE, ExportCompression.negotiate("gzip;q=0, zstd;q=oops"));
+    }
+
+    @Test
+    void wrap_shouldCompressAndLeaveTargetOpen() throws Exception {
+        assertRoundTrip(ExportCompression.NONE);
+        assertRoundTrip(ExportCompression.GZIP);
+    }
+
+    @Test
+    void wrap_whenZstdIsAvailable_shouldCompress() throws Exception {
+        assumeTrue(ExportCompression.ZSTD.isAvailable());
+        assertRoundTrip(ExportCompression.ZSTD);
+    }
+
+    private void assertRoundTrip(ExportCompression compression) throws IOException {
+        String text = "Date,Category,Type,Amount\n".repeat(1000);
+        ClosingTracker target = new ClosingTracker();
+
+        try (OutputStream out = compression.wrap(target)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] written = target.toByteArray();
+        if (compression != ExportCompression.NONE) {
+            assertTrue(written.length * 10 < text.length(), compression + " wrote " + written.length);
+        }
+        assertEquals(text, new String(decode(compression, written), StandardCharsets.UTF_8));
+        assertEquals(false, target.closed);
+    }
+
+    private byte[] decode(ExportCompression compression, byte[] bytes) throws IOException {
+        InputStream in = new ByteArrayInputStream(bytes);
+        try (InputStream decoded = switch (compression) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in);
+            case ZSTD -> new ZstdInputStream(in);
+        }) {
+            return decoded.readAllBytes();
+        }
+    }
+
+    private static final class ClosingTracker extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.finance_tracker.services.export;
+
+import com.example.finance_tracker.exceptions.ConflictException;
+import com.example.finance_tracker.exceptions.ResourceNotFoundException;
+import com.example.finance_tracker.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportJobServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final ExportService exportService = mock(ExportService.class);
+    private ExportJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        jobService.close();
+    }
+
+    @Test
+    void submit_whenUserHasTooManyActiveJobs_thenRejectsUntilOneFinishes() throws Exception {
+        jobService = jobService(DataSize.ofMegabytes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        exportWrites(out -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            out.write("data".getBytes(StandardCharsets.UTF_8));
+        });
+
+        UUID first = submit(1L).id();
+        submit(1L);
+
+        assertThrows(TooManyRequestsException.class, () -> submit(1L));
+        assertThrows(ConflictException.class, () -> jobService.getFile(1L, first));
+        submit(2L);
+
+        release.countDown();
+        assertEquals(ExportJobStatus.COMPLETED, awaitFinished(1L, first));
+        jobService.getByUser(1L).forEach(job -> awaitFinished(1L, job.id()));
+
+        submit(1L);
+        assertEquals(3, jobService.getByUser(1L).size());
+        assertThrows(ResourceNotFoundException.class, () -> jobService.get(2L, first));
+    }
+
+    @Test
+    void submit_whenSpoolExceedsQuota_thenEvictsOldestFile() throws Exception {
+        jobService = jobService(DataSize.ofBytes(10));
+        exportWrites(out -> out.write("123456".getBytes(StandardCharsets.UTF_8)));
+
+        UUID older = submit(1L).id();
+        awaitFinished(1L, older);
+        Path olderFile = jobService.getFile(1L, older).path();
+
+        UUID newer = submit(1L).id();
+        assertEquals(ExportJobStatus.COMPLETED, awaitFinished(1L, newer));
+
+        assertThrows(ResourceNotFoundException.class, () -> jobService.get(1L, older));
+        assertFalse(Files.exists(olderFile));
+        SpooledFile file = jobService.getFile(1L, newer);
+        assertEquals("123456", Files.readString(file.path()));
+        assertEquals("transactions.csv", file.filename());
+    }
+
+    @Test
+    void submit_whenExportAloneExceedsQuota_thenJobFails() throws Exception {
+        jobService = jobService(DataSize.ofBytes(4));
+        exportWrites(out -> out.write("123456".getBytes(StandardCharsets.UTF_8)));
+
+        UUID id = submit(1L).id();
+
+        assertEquals(ExportJobStatus.FAILED, awaitFinished(1L, id));
+        assertEquals("Export exceeds the spool size limit", jobService.get(1L, id).error());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void submit_whenExportOutgrowsQuota_thenStopsTheWriterAtTheLimit() throws Exception {
+        jobService = jobService(DataSize.ofBytes(4));
+        AtomicInteger accepted = new AtomicInteger();
+        exportWrites(out -> {
+            for (int i = 0; i < 1000; i++) {
+                out.write('x');
+                accepted.incrementAndGet();
+            }
+        });
+
+        UUID id = submit(1L).id();
+
+        assertEquals(ExportJobStatus.FAILED, awaitFinished(1L, id));
+        assertEquals("Export exceeds the spool size limit", jobService.get(1L, id).error());
+        assertEquals(4, accepted.get());
+    }
+
+    @Test
+    void delete_whenJobCompleted_thenRemovesFile() throws Exception {
+        jobService = jobService(DataSize.ofMegabytes(1));
+        exportWrites(out -> out.write("data".getBytes(StandardCharsets.UTF_8)));
+
+        UUID id = submit(1L).id();
+        awaitFinished(1L, id);
+        Path path = jobService.getFile(1L, id).path();
+
+        assertThrows(ResourceNotFoundException.class, () -> jobService.delete(2L, id));
+        jobService.delete(1L, id);
+
+        assertFalse(Files.exists(path));
+        assertThrows(ResourceNotFoundException.class, () -> jobService.get(1L, id));
+    }
+
+    private ExportJob submit(Long userId) {
+        return jobService.submit(userId, ExportFormat.CSV, ExportCompression.NONE, null, null);
+    }
+
+    private ExportJobService jobService(DataSize maxSpoolSize) {
+        return new ExportJobService(exportService, spoolDir, maxSpoolSize, 2, 10, 2, Duration.ofHours(1));
+    }
+
+    private void exportWrites(ExportWriter writer) {
+        when(exportService.export(any(), eq(ExportFormat.CSV), eq(ExportCompression.NONE), any(), any()))
+                .thenReturn(new ExportFile(writer, "transactions.csv", MediaType.parseMediaType("text/csv"),
+                        ExportCompression.NONE));
+    }
+
+    private ExportJobStatus awaitFinished(Long userId, UUID id) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ExportJobStatus status = jobService.get(userId, id).status();
+            if (status == ExportJobStatus.COMPLETED || status == ExportJobStatus.FAILED) {
+                return status;
+            }
+            Thread.onSpinWait();
+        }
+        return fail("Export job did not finish");
+    }
+}
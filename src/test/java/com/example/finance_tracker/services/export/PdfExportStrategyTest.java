@@ -0,0 +1,65 @@
+package com.example.finance_tracker.services.export;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.models.TransactionExportRow;
+import org.junit.jupiter.api.Test;
+import org.openpdf.text.pdf.PdfReader;
+import org.openpdf.text.pdf.parser.PdfTextExtractor;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfExportStrategyTest {
+
+    @Test
+    void export_shouldWritePagesBeforeAllRowsAreRead() throws Exception {
+        int rowCount = PdfExportStrategy.CHUNK_ROWS * 10;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] bytesWrittenHalfway = {-1};
+
+        Iterator<TransactionExportRow> rows = IntStream.range(0, rowCount)
+                .peek(i -> {
+                    if (i == rowCount / 2) {
+                        bytesWrittenHalfway[0] = out.size();
+                    }
+                })
+                .mapToObj(i -> new TransactionExportRow(LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                        i % 3 == 0 ? null : "Category " + i, i % 2 == 0 ? Type.INCOME : Type.EXPENSE,
+                        BigDecimal.valueOf(i, 2)))
+                .iterator();
+
+        TransactionTotals totals = new TransactionTotals();
+        new PdfExportStrategy().export(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public TransactionExportRow next() {
+                TransactionExportRow row = rows.next();
+                totals.add(row);
+                return row;
+            }
+        }, totals, out);
+
+        assertTrue(bytesWrittenHalfway[0] > out.size() / 4,
+                "halfway " + bytesWrittenHalfway[0] + " of " + out.size());
+
+        PdfReader reader = new PdfReader(out.toByteArray());
+        PdfTextExtractor extractor = new PdfTextExtractor(reader);
+        int pages = reader.getNumberOfPages();
+        assertTrue(pages > 10, "pages " + pages);
+        for (int page = 1; page <= pages - 1; page++) {
+            assertTrue(extractor.getTextFromPage(page).contains("Date"), "header on page " + page);
+        }
+        String lastPage = extractor.getTextFromPage(pages);
+        assertTrue(lastPage.contains("Balance: " + totals.getBalance()), lastPage);
+        reader.close();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.finance_tracker.services.imports;
+
+import com.example.finance_tracker.entities.CategoryEntity;
+import com.example.finance_tracker.exceptions.ValidationException;
+import com.example.finance_tracker.repositories.CategoryRepository;
+import com.example.finance_tracker.services.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    private static final String YESTERDAY = LocalDate.now().minusDays(1).toString();
+
+    @Mock
+    TransactionService transactionService;
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @InjectMocks
+    TransactionImportService importService;
+
+    private final List<ImportError> errors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        CategoryEntity category = new CategoryEntity();
+        category.setId(1L);
+        category.setName("Food");
+        when(categoryRepository.findByUserEntityId(1L)).thenReturn(List.of(category));
+    }
+
+    @Test
+    void importCsv_whenRecordIsMalformedAfterEventsWereReported_thenReportsItAndStops() {
+        when(transactionService.createAll(eq(1L), anyList())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        ImportProgress result = importCsv("""
+                Date,Amount
+                not-a-date,5
+                %s,5
+                %s,5%s
+                %s,7
+                """.formatted(YESTERDAY, YESTERDAY, ",".repeat(40), YESTERDAY));
+
+        assertEquals(new ImportProgress(3, 1, 2), result);
+        assertEquals(List.of(
+                new ImportError(2, "Date 'not-a-date' does not match the expected format"),
+                new ImportError(4, "Line 4 has more than 32 fields")), errors);
+        verify(transactionService).createAll(eq(1L), anyList());
+    }
+
+    @Test
+    void importCsv_whenRecordIsMalformedBeforeAnyEvent_thenThrows() {
+        ValidationException ex = assertThrows(ValidationException.class, () -> importCsv("""
+                Date,Amount
+                %s,5
+                %s,5%s
+                """.formatted(YESTERDAY, YESTERDAY, ",".repeat(40))));
+
+        assertEquals("Line 3 has more than 32 fields", ex.getMessage());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void importCsv_whenFileHasByteOrderMarkAndNoTrailingNewline_thenReportsTheLastLineOfTheBatch() {
+        when(transactionService.createAll(eq(1L), anyList())).thenThrow(new ValidationException("Rejected"));
+
+        ImportProgress result = importCsv("\uFEFFDate,Amount\n" + YESTERDAY + ",5\n" + YESTERDAY + ",6");
+
+        assertEquals(new ImportProgress(2, 0, 2), result);
+        assertEquals(List.of(new ImportError(2, "Lines 2-3 were not imported: Rejected")), errors);
+    }
+
+    private ImportProgress importCsv(String csv) {
+        return importService.importCsv(1L, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                new ImportOptions(1L, DateTimeFormatter.ISO_LOCAL_DATE), new ImportListener() {
+                    @Override
+                    public void onError(ImportError error) {
+                        errors.add(error);
+                    }
+
+                    @Override
+                    public void onProgress(ImportProgress progress) {
+                    }
+                });
+    }
+}
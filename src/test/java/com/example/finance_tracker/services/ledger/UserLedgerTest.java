@@ -0,0 +1,131 @@
+package com.example.finance_tracker.services.ledger;
+
+import com.example.finance_tracker.common.Type;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserLedgerTest {
+
+    private static final LocalDate JANUARY_10 = LocalDate.of(2024, 1, 10);
+    private static final LocalDate FEBRUARY_3 = LocalDate.of(2024, 2, 3);
+    private static final LocalDate MARCH_20 = LocalDate.of(2024, 3, 20);
+
+    @Test
+    void totals_shouldSumOnlyRowsInsideTheDayRange() {
+        UserLedger ledger = ledger(
+                row(1L, Type.INCOME, "1000.00", JANUARY_10, 1L),
+                row(2L, Type.EXPENSE, "12.34", JANUARY_10, 2L),
+                row(3L, Type.EXPENSE, "50.00", FEBRUARY_3, 2L),
+                row(4L, Type.EXPENSE, "7.01", MARCH_20, null));
+
+        assertEquals(new LedgerTotals(100_000, 1_234, 2), ledger.totals(day(JANUARY_10), day(LocalDate.of(2024, 1, 31))));
+        assertEquals(new LedgerTotals(0, 5_701, 2), ledger.totals(day(FEBRUARY_3), day(MARCH_20)));
+        assertEquals(new LedgerTotals(0, 0, 0), ledger.totals(day(MARCH_20) + 1, day(MARCH_20) + 30));
+    }
+
+    @Test
+    void apply_shouldMoveUpdatedRowsAndStayIdempotent() {
+        UserLedger ledger = ledger(
+                row(1L, Type.EXPENSE, "10.00", JANUARY_10, 1L),
+                row(2L, Type.EXPENSE, "20.00", FEBRUARY_3, 1L));
+
+        List<LedgerRow> added = List.of(
+                row(1L, Type.EXPENSE, "15.00", MARCH_20, 2L),
+                row(3L, Type.INCOME, "5.00", JANUARY_10, null));
+        ledger.apply(new long[]{2L}, added);
+        ledger.apply(new long[]{2L}, added);
+
+        assertEquals(2, ledger.size());
+        assertEquals(new LedgerTotals(500, 0, 1), ledger.totals(day(JANUARY_10), day(FEBRUARY_3)));
+        assertEquals(new LedgerTotals(0, 1_500, 1), ledger.totals(day(MARCH_20), day(MARCH_20)));
+    }
+
+    @Test
+    void categoryAndBucketTotals_shouldGroupByCategoryAndMonth() {
+        UserLedger ledger = ledger(
+                row(1L, Type.EXPENSE, "10.00", JANUARY_10, 1L),
+                row(2L, Type.EXPENSE, "20.00", JANUARY_10, 2L),
+                row(3L, Type.EXPENSE, "30.00", FEBRUARY_3, 1L),
+                row(4L, Type.INCOME, "99.00", FEBRUARY_3, 1L),
+                row(5L, Type.EXPENSE, "40.00", MARCH_20, null));
+
+        assertEquals(Map.of(1L, 4_000L, 2L, 2_000L), categoryTotals(ledger, JANUARY_10, MARCH_20));
+
+        ledger.moveToUncategorized(1L);
+        assertEquals(Map.of(2L, 2_000L), categoryTotals(ledger, JANUARY_10, MARCH_20));
+
+        int[] months = {day(LocalDate.of(2024, 1, 1)), day(LocalDate.of(2024, 2, 1)),
+                day(LocalDate.of(2024, 3, 1)), day(LocalDate.of(2024, 4, 1))};
+        assertArrayEquals(new LedgerTotals[]{new LedgerTotals(0, 3_000, 2), new LedgerTotals(9_900, 3_000, 2),
+                new LedgerTotals(0, 4_000, 1)}, ledger.bucketTotals(months));
+    }
+
+    @Test
+    void balanceAt_shouldFollowWritesOutsideTheInitialWindow() {
+        LocalDate longAgo = LocalDate.of(2001, 5, 1);
+        LocalDate farAhead = LocalDate.now().plusYears(3);
+        UserLedger ledger = ledger(
+                row(1L, Type.INCOME, "100.00", longAgo, null),
+                row(2L, Type.EXPENSE, "30.00", JANUARY_10, 1L));
+
+        ledger.apply(new long[0], List.of(row(3L, Type.INCOME, "5.50", farAhead, null)));
+        ledger.apply(new long[]{2L}, List.of(row(4L, Type.EXPENSE, "40.00", FEBRUARY_3, 1L)));
+
+        assertEquals(0, ledger.balanceAt(day(longAgo) - 1));
+        assertEquals(10_000, ledger.balanceAt(day(JANUARY_10)));
+        assertEquals(6_000, ledger.balanceAt(day(FEBRUARY_3)));
+        assertEquals(6_550, ledger.balanceAt(day(farAhead)));
+        assertEquals(6_550, ledger.balanceAt(day(farAhead) + 10_000));
+    }
+
+    @Test
+    void idsBetweenAndInCategory_shouldSelectRowsRemovedByBulkDeletes() {
+        UserLedger ledger = ledger(
+                row(1L, Type.EXPENSE, "10.00", JANUARY_10, 1L),
+                row(2L, Type.EXPENSE, "20.00", FEBRUARY_3, 2L),
+                row(3L, Type.INCOME, "30.00", FEBRUARY_3, 1L),
+                row(4L, Type.EXPENSE, "40.00", MARCH_20, null));
+
+        long[] february = ledger.idsBetween(day(FEBRUARY_3), day(MARCH_20) - 1);
+        Arrays.sort(february);
+        assertArrayEquals(new long[]{2L, 3L}, february);
+        assertArrayEquals(new long[0], ledger.idsBetween(day(MARCH_20) + 1, day(MARCH_20) + 30));
+
+        long[] category = ledger.idsInCategory(1L);
+        Arrays.sort(category);
+        assertArrayEquals(new long[]{1L, 3L}, category);
+
+        ledger.apply(category, List.of());
+        assertEquals(new LedgerTotals(0, 6_000, 2), ledger.totals(day(JANUARY_10), day(MARCH_20)));
+    }
+
+    private Map<Long, Long> categoryTotals(UserLedger ledger, LocalDate from, LocalDate to) {
+        Map<Long, Long> totals = new HashMap<>();
+        ledger.categoryTotals(day(from), day(to), false).forEach(totals::put);
+        return totals;
+    }
+
+    private UserLedger ledger(LedgerRow... rows) {
+        UserLedger ledger = new UserLedger();
+        ledger.apply(new long[0], List.of(rows));
+        ledger.markBuilt();
+        return ledger;
+    }
+
+    private LedgerRow row(Long id, Type type, String amount, LocalDate date, Long categoryId) {
+        return LedgerRow.of(id, type, new BigDecimal(amount), date, categoryId);
+    }
+
+    private int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.finance_tracker.services.reports;
+
+import com.example.finance_tracker.services.reports.ReportCacheKey.Report;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportCacheTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReportCache cache = new ReportCache(1_000, Duration.ofMinutes(5), meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void invalidate_shouldDropOnlyEntriesCoveringAffectedMonths() {
+        ReportCacheKey january = key(1L, JANUARY, JANUARY);
+        ReportCacheKey february = key(1L, FEBRUARY, FEBRUARY);
+        ReportCacheKey quarter = key(1L, JANUARY, YearMonth.of(2024, 3));
+        ReportCacheKey otherUser = key(2L, FEBRUARY, FEBRUARY);
+        List.of(january, february, quarter, otherUser).forEach(this::load);
+
+        cache.invalidate(1L, key -> key.covers(Set.of(FEBRUARY)));
+        List.of(january, february, quarter, otherUser).forEach(this::load);
+
+        assertEquals(6, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", ReportCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void get_shouldNotKeepResult_WhenInvalidatedWhileLoading() {
+        ReportCacheKey january = key(1L, JANUARY, JANUARY);
+
+        cache.get(january, () -> {
+            cache.invalidate(1L, key -> true);
+            return loads.incrementAndGet();
+        });
+        load(january);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldForgetUsersWithoutCachedResults() {
+        load(key(1L, JANUARY, JANUARY));
+        load(key(2L, JANUARY, JANUARY));
+
+        cache.invalidate(1L, key -> true);
+        cache.invalidate(3L, key -> true);
+
+        assertEquals(1, cache.trackedUsers());
+    }
+
+    @Test
+    void eviction_shouldForgetUsersWhoseResultsWereAllEvicted() {
+        ReportCache small = new ReportCache(3, Duration.ofMinutes(5), meterRegistry);
+        for (long userId = 1; userId <= 100; userId++) {
+            small.get(key(userId, JANUARY, JANUARY), loads::incrementAndGet);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (small.trackedUsers() > 3 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(small.trackedUsers() <= 3, "tracked users " + small.trackedUsers());
+    }
+
+    private void load(ReportCacheKey key) {
+        cache.get(key, loads::incrementAndGet);
+    }
+
+    private ReportCacheKey key(Long userId, YearMonth from, YearMonth to) {
+        return new ReportCacheKey(userId, Report.MONTHLY_TREND, from, to, null);
+    }
+}
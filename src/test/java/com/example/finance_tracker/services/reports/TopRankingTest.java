@@ -0,0 +1,31 @@
+package com.example.finance_tracker.services.reports;
+
+import com.example.finance_tracker.models.TopReport;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopRankingTest {
+
+    @Test
+    void select_shouldKeepTheLargestCandidatesLargestFirst() {
+        List<Integer> candidates = IntStream.range(0, 10_000).map(i -> (i * 7_919) % 10_000).boxed().toList();
+
+        assertEquals(List.of(9_999, 9_998, 9_997), TopRanking.select(candidates, 3, Comparator.naturalOrder()));
+        assertEquals(List.of(2, 1), TopRanking.select(List.of(1, 2), 5, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void toReport_whenTotalIsZero_thenSharesAreZero() {
+        TopReport report = TopRanking.toReport(BigDecimal.ZERO, List.of());
+
+        assertEquals(0, report.items().size());
+        assertEquals(BigDecimal.ZERO, report.other().total());
+        assertEquals(new BigDecimal("0.00"), report.other().percentage());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.finance_tracker.services.search;
+
+import com.example.finance_tracker.common.Type;
+import com.example.finance_tracker.models.TransactionView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserDescriptionIndexTest {
+
+    @Test
+    void search_shouldMatchEveryQueryTokenAsPrefix_NewestFirst() {
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        index.upsert(view(1L, "Uber ride to airport", LocalDate.now().minusDays(2)));
+        index.upsert(view(2L, "Uber Eats dinner", LocalDate.now()));
+        index.upsert(view(3L, "Monthly rent", LocalDate.now()));
+        index.upsert(view(4L, null, LocalDate.now()));
+
+        assertEquals(List.of(2L, 1L), ids(index.search(DescriptionTokenizer.tokenize("ub"), 10)));
+        assertEquals(List.of(1L), ids(index.search(DescriptionTokenizer.tokenize("UBER air"), 10)));
+        assertEquals(List.of(2L), ids(index.search(DescriptionTokenizer.tokenize("uber"), 1)));
+        assertTrue(index.search(DescriptionTokenizer.tokenize("taxi"), 10).isEmpty());
+    }
+
+    @Test
+    void upsertAndRemove_shouldReplaceOldTokens() {
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        index.upsert(view(1L, "Uber ride", LocalDate.now()));
+        index.upsert(view(1L, "Bolt ride", LocalDate.now()));
+        index.upsert(view(2L, "Bolt scooter", LocalDate.now()));
+        index.remove(2L);
+
+        assertTrue(index.search(DescriptionTokenizer.tokenize("uber"), 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search(DescriptionTokenizer.tokenize("bolt"), 10)));
+    }
+
+    @Test
+    void compaction_shouldKeepLiveDocumentsSearchable() {
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        for (long id = 1; id <= 5_000; id++) {
+            index.upsert(view(id, "coffee " + id, LocalDate.now()));
+        }
+        long before = index.estimatedBytes();
+        for (long id = 1; id <= 4_990; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(10, index.search(DescriptionTokenizer.tokenize("coffee"), 100).size());
+        assertTrue(index.estimatedBytes() < before);
+    }
+
+    @Test
+    void removeIf_shouldDropMatchingDocumentsOnly() {
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        index.upsert(view(1L, "Coffee beans", LocalDate.of(2024, 1, 10)));
+        index.upsert(view(2L, "Coffee shop", LocalDate.of(2024, 2, 3)));
+        index.upsert(view(3L, "Coffee grinder", LocalDate.of(2024, 3, 20)));
+
+        index.removeIf(view -> view.date().getMonthValue() == 2);
+
+        assertEquals(List.of(3L, 1L), ids(index.search(DescriptionTokenizer.tokenize("coffee"), 10)));
+        assertTrue(index.search(DescriptionTokenizer.tokenize("shop"), 10).isEmpty());
+    }
+
+    private static TransactionView view(Long id, String description, LocalDate date) {
+        return new TransactionView(id, Type.EXPENSE, BigDecimal.TEN, date, description, 1L);
+    }
+
+    private static List<Long> ids(List<TransactionView> views) {
+        return views.stream().map(TransactionView::id).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.finance_tracker.services.sketches;
+
+import com.example.finance_tracker.models.HistogramBin;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AmountSketchTest {
+
+    @Test
+    void bucketOf_shouldPlaceEveryAmountInsideANarrowBucket() {
+        for (long cents = 1; cents < 1_000_000; cents += 7) {
+            int bucket = AmountSketch.bucketOf(cents);
+            long lower = AmountSketch.lowerBound(bucket);
+            long upper = AmountSketch.upperBound(bucket);
+            assertTrue(lower <= cents && cents < upper, "cents " + cents);
+            assertTrue((upper - lower) * 64 <= Math.max(lower, 64), "bucket " + bucket);
+        }
+        assertEquals(AmountSketch.bucketOf(999_999_999_999_999_99L) + 1,
+                AmountSketch.bucketOf(AmountSketch.upperBound(AmountSketch.bucketOf(999_999_999_999_999_99L))));
+    }
+
+    @Test
+    void quantile_shouldStayWithinTheRelativeErrorOfTheExactValue() {
+        Random random = new Random(42);
+        long[] amounts = new long[20_000];
+        TreeMap<Integer, Long> counts = new TreeMap<>();
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 1 + (long) Math.exp(random.nextDouble() * 14);
+            counts.merge(AmountSketch.bucketOf(amounts[i]), 1L, Long::sum);
+        }
+        Arrays.sort(amounts);
+        AmountSketch sketch = new AmountSketch(
+                counts.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                counts.values().stream().mapToLong(Long::longValue).toArray());
+
+        for (double q : new double[]{0.01, 0.5, 0.9, 0.99, 1.0}) {
+            long exact = amounts[(int) Math.ceil(q * amounts.length) - 1];
+            double estimate = sketch.quantile(q).movePointRight(2).doubleValue();
+            assertTrue(Math.abs(estimate - exact) <= exact * AmountSketch.MAX_RELATIVE_ERROR,
+                    "q " + q + ": " + estimate + " vs " + exact);
+        }
+        assertEquals(amounts.length, sketch.count());
+    }
+
+    @Test
+    void bucketOf_whenAmountHasMoreThanTwoDecimals_thenRoundsToCents() {
+        assertEquals(AmountSketch.bucketOf(1235), AmountSketch.bucketOf(new BigDecimal("12.345")));
+        assertEquals(AmountSketch.bucketOf(1234), AmountSketch.bucketOf(new BigDecimal("12.3449")));
+        assertEquals(AmountSketch.bucketOf(1200), AmountSketch.bucketOf(new BigDecimal("12")));
+    }
+
+    @Test
+    void histogram_shouldGroupBucketsByPowerOfTwo() {
+        AmountSketch sketch = new AmountSketch(
+                new int[]{AmountSketch.bucketOf(5), AmountSketch.bucketOf(6), AmountSketch.bucketOf(300)},
+                new long[]{1, 2, 4});
+
+        assertEquals(List.of(
+                        new HistogramBin(new BigDecimal("0.04"), new BigDecimal("0.08"), 3),
+                        new HistogramBin(new BigDecimal("2.56"), new BigDecimal("5.12"), 4)),
+                sketch.histogram());
+        assertNull(new AmountSketch(new int[0], new long[0]).quantile(0.5));
+    }
+}